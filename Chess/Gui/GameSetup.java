@@ -13,9 +13,11 @@ class GameSetup extends JDialog {
     private PlayerType whitePlayerType;
     private PlayerType blackPlayerType;
     private JSpinner searchDepthSpinner;
+    private JSpinner moveTimeSpinner;
 
     private static final String HUMAN_TEXT = "Human";
     private static final String COMPUTER_TEXT = "Computer";
+    private static final int DEFAULT_MOVE_TIME_MILLIS = 5000;
 
     GameSetup(final JFrame frame,
               final boolean modal) {
@@ -49,6 +51,9 @@ class GameSetup extends JDialog {
 
         myPanel.add(new JLabel("Search"));
         this.searchDepthSpinner = addLabeledSpinner(myPanel, "Search Depth", new SpinnerNumberModel(4, 0, Integer.MAX_VALUE, 1));
+        // 0 lets the search run to the full depth however long that takes
+        this.moveTimeSpinner = addLabeledSpinner(myPanel, "Move Time (ms)",
+                new SpinnerNumberModel(DEFAULT_MOVE_TIME_MILLIS, 0, Integer.MAX_VALUE, 500));
 
         final JButton cancelButton = new JButton("Cancel");
         final JButton okButton = new JButton("OK");
@@ -111,5 +116,9 @@ class GameSetup extends JDialog {
         return (Integer)this.searchDepthSpinner.getValue();
     }
 
+    int getMoveTime() {
+        return (Integer)this.moveTimeSpinner.getValue();
+    }
+
 
 }
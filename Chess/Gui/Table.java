@@ -7,8 +7,10 @@ import Chess.ProblemDomain.Board.Move.MoveFactory;
 import Chess.ProblemDomain.Board.Tile;
 import Chess.ProblemDomain.Piece.Piece;
 import Chess.ProblemDomain.Piece.Piece.PieceType;
-import Chess.ProblemDomain.Player.AI.Minimax;
+import Chess.ProblemDomain.Player.AI.IterativeDeepening;
+import Chess.ProblemDomain.Player.AI.LocklessTranspositionTable;
 import Chess.ProblemDomain.Player.AI.MoveStrategy;
+import Chess.ProblemDomain.Player.AI.TranspositionTable;
 import Chess.ProblemDomain.Player.MoveTransition;
 
 import javax.imageio.ImageIO;
@@ -39,11 +41,13 @@ public class Table extends Observable {
     private BoardDirection boardDirection;
     private final MoveLog moveLog;
     private final GameSetup gameSetup;
+    private final TranspositionTable transpositionTable;
 
     private Tile sourceTile;
     private Tile destTile;
     private Piece humanMovePiece;
 
+    private static final int TRANSPOSITION_TABLE_MEGABYTES = 64;
     private static final Dimension OUTER_FRAME_DIMENSION = new Dimension(600,600);
     private static final Dimension BOARD_PANEL_DIMENSION = new Dimension(400, 350);
     private static final Dimension TILE_PANEL_DIMENSION = new Dimension(10,10);
@@ -63,8 +67,14 @@ public class Table extends Observable {
         return gameSetup;
     }
 
+    // Kept for the whole game, so each computer move starts from what the last one learned.
+    public TranspositionTable getTranspositionTable() {
+        return transpositionTable;
+    }
+
     private Table() {
         this.chessBoard = Board.createStandardBoard();
+        this.transpositionTable = new LocklessTranspositionTable(TRANSPOSITION_TABLE_MEGABYTES);
         this.gameFrame = new JFrame("JChess");
         final JMenuBar tableMenuBar = createMenuBar();
         this.gameFrame.setJMenuBar(tableMenuBar);
@@ -191,8 +201,7 @@ public class Table extends Observable {
         @Override
         public void update(final Observable o, final Object arg) {
             if (Table.get().getGameSetup().isAIPlayer(Table.get().getGameBoard().currentPlayer()) &&
-            !Table.get().getGameBoard().currentPlayer().isCheckmate() &&
-                    !Table.get().getGameBoard().currentPlayer().isCheckmate()){
+                    !Table.get().getGameBoard().currentPlayer().getGameStatus().isGameOver()){
                 final AIThinkTank thinkTank = new AIThinkTank();
                 thinkTank.execute();
             }
@@ -214,8 +223,11 @@ public class Table extends Observable {
         @Override
         protected Move doInBackground() throws Exception {
             System.out.println("thinking");
-            final MoveStrategy minimax = new Minimax(Table.get().getGameSetup().getSearchDepth());
-            final Move bestMove = minimax.execute(Table.get().getGameBoard());
+            final GameSetup gameSetup = Table.get().getGameSetup();
+            final MoveStrategy strategy = new IterativeDeepening(gameSetup.getSearchDepth(),
+                    gameSetup.getMoveTime() == 0 ? IterativeDeepening.NO_LIMIT : gameSetup.getMoveTime(),
+                    IterativeDeepening.NO_LIMIT, Table.get().getTranspositionTable());
+            final Move bestMove = strategy.execute(Table.get().getGameBoard());
             return bestMove;
         }
 
@@ -491,8 +503,7 @@ public class Table extends Observable {
                 List<Move> legalMove = new ArrayList<Move>();
                 legalMove.addAll(humanMovePiece.calculateLegalMoves(board));
                 if (humanMovePiece.getPieceType() == PieceType.KING) {
-                    legalMove.addAll(board.currentPlayer().KingCastles(board.currentPlayer().getLegalMoves(),
-                            board.currentPlayer().getOpponent().getLegalMoves()));
+                    legalMove.addAll(board.currentPlayer().KingCastles());
                 }
                 return legalMove;
             }
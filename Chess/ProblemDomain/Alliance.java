@@ -32,6 +32,11 @@ public enum Alliance {
         public Player choosePlayer(WhitePlayer whitePlayer, BlackPlayer blackPlayer) {
             return whitePlayer;
         }
+
+        @Override
+        public Alliance opponent() {
+            return BLACK;
+        }
     },
     BLACK {
         @Override
@@ -57,6 +62,11 @@ public enum Alliance {
         public Player choosePlayer(WhitePlayer whitePlayer, BlackPlayer blackPlayer) {
             return blackPlayer;
         }
+
+        @Override
+        public Alliance opponent() {
+            return WHITE;
+        }
     };
 
     public abstract int getDirection();
@@ -65,4 +75,5 @@ public enum Alliance {
     public abstract boolean isPawnPromotionSquare(int position);
 
     public abstract Player choosePlayer(WhitePlayer whitePlayer, BlackPlayer blackPlayer);
+    public abstract Alliance opponent();
 }
@@ -0,0 +1,275 @@
+package Chess.ProblemDomain.Board;
+
+import Chess.ProblemDomain.Alliance;
+import Chess.ProblemDomain.Piece.Piece.PieceType;
+
+import java.util.Arrays;
+
+public class BitBoardPosition {
+
+    public static final int NO_PIECE = BitBoardUtils.NUM_PIECE_INDICES;
+    public static final int NO_SQUARE = -1;
+
+    private static final Alliance[] ALLIANCES = Alliance.values();
+    private static final int[] PIECE_VALUES = initPieceValues();
+
+    final long[] pieceBitBoards;
+    final long[] allianceOccupancy;
+    long occupancy;
+    final int[] squares;
+    // Swap list for see(), one entry per capture in the exchange
+    private final int[] seeGains = new int[Long.SIZE / 2];
+
+    int sideToMove;
+    int castlingRights;
+    int enPassantSquare;
+    long zobristKey;
+
+    private static int[] initPieceValues() {
+        final PieceType[] pieceTypes = PieceType.values();
+        final int[] pieceValues = new int[pieceTypes.length];
+        for (final PieceType pieceType : pieceTypes) {
+            pieceValues[pieceType.ordinal()] = pieceType.pieceValue();
+        }
+        return pieceValues;
+    }
+
+    BitBoardPosition() {
+        this.pieceBitBoards = new long[BitBoardUtils.NUM_PIECE_INDICES];
+        this.allianceOccupancy = new long[Alliance.values().length];
+        this.squares = new int[BoardUtils.NUM_TILES];
+        Arrays.fill(this.squares, NO_PIECE);
+        this.enPassantSquare = NO_SQUARE;
+    }
+
+    BitBoardPosition(final BitBoardPosition other) {
+        this.pieceBitBoards = other.pieceBitBoards.clone();
+        this.allianceOccupancy = other.allianceOccupancy.clone();
+        this.occupancy = other.occupancy;
+        this.squares = other.squares.clone();
+        this.sideToMove = other.sideToMove;
+        this.castlingRights = other.castlingRights;
+        this.enPassantSquare = other.enPassantSquare;
+        this.zobristKey = other.zobristKey;
+    }
+
+    void copyFrom(final BitBoardPosition other) {
+        System.arraycopy(other.pieceBitBoards, 0, this.pieceBitBoards, 0, this.pieceBitBoards.length);
+        System.arraycopy(other.allianceOccupancy, 0, this.allianceOccupancy, 0, this.allianceOccupancy.length);
+        this.occupancy = other.occupancy;
+        System.arraycopy(other.squares, 0, this.squares, 0, this.squares.length);
+        this.sideToMove = other.sideToMove;
+        this.castlingRights = other.castlingRights;
+        this.enPassantSquare = other.enPassantSquare;
+        this.zobristKey = other.zobristKey;
+    }
+
+    void addPiece(final int pieceIndex, final int square) {
+        final long squareBit = BitBoardUtils.squareBit(square);
+        this.pieceBitBoards[pieceIndex] |= squareBit;
+        this.allianceOccupancy[pieceIndex / BitBoardUtils.NUM_PIECE_TYPES] |= squareBit;
+        this.occupancy |= squareBit;
+        this.squares[square] = pieceIndex;
+    }
+
+    void removePiece(final int square) {
+        final int pieceIndex = this.squares[square];
+        final long squareBit = BitBoardUtils.squareBit(square);
+        this.pieceBitBoards[pieceIndex] &= ~squareBit;
+        this.allianceOccupancy[pieceIndex / BitBoardUtils.NUM_PIECE_TYPES] &= ~squareBit;
+        this.occupancy &= ~squareBit;
+        this.squares[square] = NO_PIECE;
+    }
+
+    // Pieces of an alliance attacking a tile, with sliders seeing through to the given occupancy.
+    long attackersOf(final int square, final int byColour, final long occupancy) {
+        final int base = byColour * BitBoardUtils.NUM_PIECE_TYPES;
+        final long queens = this.pieceBitBoards[base + BitBoardUtils.QUEEN];
+        return (BitBoardUtils.PAWN_ATTACKS[byColour ^ 1][square] & this.pieceBitBoards[base + BitBoardUtils.PAWN]) |
+                (BitBoardUtils.KNIGHT_ATTACKS[square] & this.pieceBitBoards[base + BitBoardUtils.KNIGHT]) |
+                (BitBoardUtils.KING_ATTACKS[square] & this.pieceBitBoards[base + BitBoardUtils.KING]) |
+                (MagicBitBoards.bishopAttacks(square, occupancy) &
+                        (this.pieceBitBoards[base + BitBoardUtils.BISHOP] | queens)) |
+                (MagicBitBoards.rookAttacks(square, occupancy) &
+                        (this.pieceBitBoards[base + BitBoardUtils.ROOK] | queens));
+    }
+
+    private long attackersOf(final int square, final long occupancy) {
+        return (attackersOf(square, BitBoardUtils.WHITE, occupancy) |
+                attackersOf(square, BitBoardUtils.BLACK, occupancy)) & occupancy;
+    }
+
+    /*
+     * Static exchange evaluation: the material the side making a move comes out with once both sides
+     * have recaptured on its destination, always with their least valuable attacker and each free to
+     * stop when going on would lose more. Worked out from attack sets alone, without making any move.
+     * Sliders lined up behind a piece join in once it has captured. Pins are not looked at, so a
+     * pinned piece is counted as an attacker. The swap list belongs to the position, so one
+     * position must not be asked from two threads at once.
+     */
+    public int see(final int move) {
+        if (EncodedMove.isCastle(move)) {
+            return 0;
+        }
+        final int to = EncodedMove.getTo(move);
+        final int[] gain = this.seeGains;
+        gain[0] = exchangeGain(move);
+        int victimValue = moverValue(move);
+        long occupancy = exchangeOccupancy(move);
+        long attackers = attackersOf(to, occupancy);
+        int colour = EncodedMove.getMovedPiece(move) / BitBoardUtils.NUM_PIECE_TYPES ^ 1;
+        int depth = 0;
+        while (true) {
+            final long colourAttackers = attackers & this.allianceOccupancy[colour];
+            if (colourAttackers == 0) {
+                break;
+            }
+            final int attackerType = leastValuableType(colourAttackers, colour);
+            if (!canRecapture(attackerType, attackers, colour)) {
+                break;
+            }
+            depth++;
+            gain[depth] = victimValue - gain[depth - 1];
+            final long attackerBit = colourAttackers & this.pieceBitBoards[colour * BitBoardUtils.NUM_PIECE_TYPES + attackerType];
+            occupancy ^= attackerBit & -attackerBit;
+            attackers = attackersOf(to, occupancy);
+            victimValue = PIECE_VALUES[attackerType];
+            colour ^= 1;
+        }
+        while (depth > 0) {
+            gain[depth - 1] = -Math.max(-gain[depth - 1], gain[depth]);
+            depth--;
+        }
+        return gain[0];
+    }
+
+    /*
+     * Whether see(move) is at least threshold, usually answered without playing the exchange out,
+     * as it stops as soon as the side to recapture can no longer change the answer. It keeps no
+     * swap list, so any thread may ask.
+     */
+    public boolean seeGreaterOrEqual(final int move, final int threshold) {
+        if (EncodedMove.isCastle(move)) {
+            return threshold <= 0;
+        }
+        // What the side to recapture has to win back to change the answer
+        int swap = exchangeGain(move) - threshold;
+        if (swap < 0) {
+            return false;
+        }
+        swap = moverValue(move) - swap;
+        if (swap <= 0) {
+            return true;
+        }
+        final int to = EncodedMove.getTo(move);
+        long occupancy = exchangeOccupancy(move);
+        long attackers = attackersOf(to, occupancy);
+        int colour = EncodedMove.getMovedPiece(move) / BitBoardUtils.NUM_PIECE_TYPES;
+        boolean isGreaterOrEqual = true;
+        while (true) {
+            colour ^= 1;
+            final long colourAttackers = attackers & this.allianceOccupancy[colour];
+            if (colourAttackers == 0) {
+                break;
+            }
+            final int attackerType = leastValuableType(colourAttackers, colour);
+            if (!canRecapture(attackerType, attackers, colour)) {
+                break;
+            }
+            isGreaterOrEqual = !isGreaterOrEqual;
+            swap = PIECE_VALUES[attackerType] - swap;
+            if (swap < (isGreaterOrEqual ? 1 : 0)) {
+                break;
+            }
+            final long attackerBit = colourAttackers & this.pieceBitBoards[colour * BitBoardUtils.NUM_PIECE_TYPES + attackerType];
+            occupancy ^= attackerBit & -attackerBit;
+            attackers = attackersOf(to, occupancy);
+        }
+        return isGreaterOrEqual;
+    }
+
+    // Material the move wins before any recapture, a promotion counting the pawn's gain.
+    private static int exchangeGain(final int move) {
+        int gain = 0;
+        if (EncodedMove.isCapture(move)) {
+            gain += PIECE_VALUES[EncodedMove.getCapturedPiece(move) % BitBoardUtils.NUM_PIECE_TYPES];
+        }
+        if (EncodedMove.isPromotion(move)) {
+            gain += PIECE_VALUES[EncodedMove.getPromotionType(move)] - PIECE_VALUES[BitBoardUtils.PAWN];
+        }
+        return gain;
+    }
+
+    // Value of the piece standing on the destination once the move is made.
+    private static int moverValue(final int move) {
+        return EncodedMove.isPromotion(move) ? PIECE_VALUES[EncodedMove.getPromotionType(move)] :
+                PIECE_VALUES[EncodedMove.getMovedPiece(move) % BitBoardUtils.NUM_PIECE_TYPES];
+    }
+
+    // Occupancy once the move is made, with the destination left empty so sliders see through it.
+    private long exchangeOccupancy(final int move) {
+        return this.occupancy & ~BitBoardUtils.squareBit(EncodedMove.getFrom(move)) &
+                ~BitBoardUtils.squareBit(EncodedMove.getTo(move)) &
+                ~BitBoardUtils.squareBit(EncodedMove.getCapturedSquare(move));
+    }
+
+    // A king can only recapture onto a square the other side no longer attacks.
+    private boolean canRecapture(final int attackerType, final long attackers, final int colour) {
+        return attackerType != BitBoardUtils.KING || (attackers & this.allianceOccupancy[colour ^ 1]) == 0;
+    }
+
+    private int leastValuableType(final long colourAttackers, final int colour) {
+        final int base = colour * BitBoardUtils.NUM_PIECE_TYPES;
+        int pieceType = BitBoardUtils.PAWN;
+        while ((colourAttackers & this.pieceBitBoards[base + pieceType]) == 0) {
+            pieceType++;
+        }
+        return pieceType;
+    }
+
+    public boolean isSquareAttacked(final int square, final int byColour) {
+        return attackersOf(square, byColour, this.occupancy) != 0;
+    }
+
+    public boolean isInCheck(final Alliance alliance) {
+        final int colour = alliance.ordinal();
+        final long king = this.pieceBitBoards[colour * BitBoardUtils.NUM_PIECE_TYPES + BitBoardUtils.KING];
+        return king != 0 && isSquareAttacked(BitBoardUtils.firstSquare(king), colour ^ 1);
+    }
+
+    public boolean isInCheck() {
+        return isInCheck(getSideToMove());
+    }
+
+    public long getPieceBitBoard(final Alliance alliance, final PieceType pieceType) {
+        return this.pieceBitBoards[BitBoardUtils.pieceIndex(alliance, pieceType)];
+    }
+
+    public long getAllianceOccupancy(final Alliance alliance) {
+        return this.allianceOccupancy[alliance.ordinal()];
+    }
+
+    public long getOccupancy() {
+        return this.occupancy;
+    }
+
+    public int getPieceIndex(final int square) {
+        return this.squares[square];
+    }
+
+    public Alliance getSideToMove() {
+        return ALLIANCES[this.sideToMove];
+    }
+
+    public int getCastlingRights() {
+        return this.castlingRights;
+    }
+
+    public int getEnPassantSquare() {
+        return this.enPassantSquare;
+    }
+
+    public long getZobristKey() {
+        return this.zobristKey;
+    }
+}
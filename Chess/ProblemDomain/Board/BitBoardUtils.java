@@ -0,0 +1,81 @@
+package Chess.ProblemDomain.Board;
+
+import Chess.ProblemDomain.Alliance;
+import Chess.ProblemDomain.Piece.Piece.PieceType;
+
+/*
+ * Bit i of every bitboard is tile coordinate i, so bit 0 is a8 and bit 63 is h1,
+ * the same numbering BoardUtils and Tile use.
+ */
+public class BitBoardUtils {
+
+    public static final int NUM_PIECE_TYPES = 6;
+    public static final int NUM_PIECE_INDICES = 12;
+
+    // Piece type and alliance parts of a piece index, in PieceType and Alliance ordinal order
+    public static final int PAWN = 0, KNIGHT = 1, BISHOP = 2, ROOK = 3, QUEEN = 4, KING = 5;
+    public static final int WHITE = 0, BLACK = 1;
+
+    public static final long EMPTY_BOARD = 0L;
+    public static final long FULL_BOARD = -1L;
+
+    public static final long[] ROWS = initRows();
+
+    public static final long[] KNIGHT_ATTACKS = initLeaperAttacks(new int[][]{
+            {-2, -1}, {-2, 1}, {-1, -2}, {-1, 2}, {1, -2}, {1, 2}, {2, -1}, {2, 1}});
+    public static final long[] KING_ATTACKS = initLeaperAttacks(new int[][]{
+            {-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}});
+    public static final long[][] PAWN_ATTACKS = {
+            initLeaperAttacks(new int[][]{{-1, -1}, {-1, 1}}),
+            initLeaperAttacks(new int[][]{{1, -1}, {1, 1}})};
+
+    private BitBoardUtils(){
+        throw new RuntimeException("You cannot instantiate me");
+    }
+
+    public static int pieceIndex(final Alliance alliance, final PieceType pieceType) {
+        return alliance.ordinal() * NUM_PIECE_TYPES + pieceType.ordinal();
+    }
+
+    public static long squareBit(final int square) {
+        return 1L << square;
+    }
+
+    public static boolean isSet(final long bitBoard, final int square) {
+        return (bitBoard & (1L << square)) != 0;
+    }
+
+    public static int firstSquare(final long bitBoard) {
+        return Long.numberOfTrailingZeros(bitBoard);
+    }
+
+    public static int squareCount(final long bitBoard) {
+        return Long.bitCount(bitBoard);
+    }
+
+    private static boolean isOnBoard(final int row, final int column) {
+        return row >= 0 && row < BoardUtils.NUM_TILES_PER_ROW && column >= 0 && column < BoardUtils.NUM_TILES_PER_ROW;
+    }
+
+    private static long[] initRows() {
+        final long[] rows = new long[BoardUtils.NUM_TILES_PER_ROW];
+        for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+            rows[square / BoardUtils.NUM_TILES_PER_ROW] |= squareBit(square);
+        }
+        return rows;
+    }
+
+    private static long[] initLeaperAttacks(final int[][] steps) {
+        final long[] attacks = new long[BoardUtils.NUM_TILES];
+        for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+            final int row = square / BoardUtils.NUM_TILES_PER_ROW;
+            final int column = square % BoardUtils.NUM_TILES_PER_ROW;
+            for (final int[] step : steps) {
+                if (isOnBoard(row + step[0], column + step[1])) {
+                    attacks[square] |= squareBit((row + step[0]) * BoardUtils.NUM_TILES_PER_ROW + column + step[1]);
+                }
+            }
+        }
+        return attacks;
+    }
+}
@@ -11,43 +11,101 @@ import java.util.*;
 
 public class Board {
 
-    private final List<Tile> gameBoard;
+    // Boards are shared between the GUI and search threads, so each thread gets its own buffer.
+    private static final ThreadLocal<int[]> MOVE_BUFFER = ThreadLocal.withInitial(() -> new int[SearchBoard.MAX_MOVES]);
+    private static final int[] CASTLING_HOME_TILES = {60, 63, 56, 4, 7, 0};
+    private static final int[] CASTLING_HOME_PIECES = {
+            BitBoardUtils.pieceIndex(Alliance.WHITE, Piece.PieceType.KING),
+            BitBoardUtils.pieceIndex(Alliance.WHITE, Piece.PieceType.ROOK),
+            BitBoardUtils.pieceIndex(Alliance.WHITE, Piece.PieceType.ROOK),
+            BitBoardUtils.pieceIndex(Alliance.BLACK, Piece.PieceType.KING),
+            BitBoardUtils.pieceIndex(Alliance.BLACK, Piece.PieceType.ROOK),
+            BitBoardUtils.pieceIndex(Alliance.BLACK, Piece.PieceType.ROOK)};
+
+    private final Piece[] gameBoard;
+    private final Tile[] tiles;
+    private final BitBoardPosition position;
     private final Collection<Piece> whitePieces;
     private final Collection<Piece> blackPieces;
 
-    private final WhitePlayer whitePlayer;
-    private final BlackPlayer blackPlayer;
-    private final Player currentPlayer;
-
-
-
-    private final Pawn enPassantPawn;
+    // Players and their move lists are built on first use, most boards never need them.
+    private WhitePlayer whitePlayer;
+    private BlackPlayer blackPlayer;
+    private final Alliance nextMove;
+    private final int halfmoveClock;
+    private final int fullmoveNumber;
 
     public Board(Builder builder) {
-        this.gameBoard = createGameBoard(builder);
+        this.gameBoard = builder.boardConfig.clone();
+        this.tiles = new Tile[BoardUtils.NUM_TILES];
+        this.position = createPosition(builder);
         this.whitePieces = calculateLivePieces(builder, Alliance.WHITE);
         this.blackPieces = calculateLivePieces(builder, Alliance.BLACK);
 
-        this.enPassantPawn = builder.enPassantPawn;
+        this.nextMove = builder.nextMove;
+        this.halfmoveClock = builder.halfmoveClock;
+        this.fullmoveNumber = builder.fullmoveNumber;
+    }
+
+    // The pawn that has just jumped past the en passant tile, or null.
+    public Pawn getEnPassantPawn() {
+        final int enPassantSquare = getEnPassantSquare();
+        if (enPassantSquare == BitBoardPosition.NO_SQUARE) {
+            return null;
+        }
+        // Black pawns jump over a tile in the top half of the board, white pawns over one in the bottom half
+        return (Pawn) getPiece(enPassantSquare < BoardUtils.NUM_TILES / 2 ?
+                enPassantSquare + BoardUtils.NUM_TILES_PER_ROW : enPassantSquare - BoardUtils.NUM_TILES_PER_ROW);
+    }
+
+    public int getEnPassantSquare() {
+        return this.position.getEnPassantSquare();
+    }
+
+    public int getCastlingRights() {
+        return this.position.getCastlingRights();
+    }
 
-        final Collection<Move> whiteLegalMoves = calculateLegalMoves(this.whitePieces);
-        final Collection<Move> blackLegalMoves = calculateLegalMoves(this.blackPieces);
+    public long getZobristKey() {
+        return this.position.getZobristKey();
+    }
 
-        this.whitePlayer = new WhitePlayer(this, whiteLegalMoves, blackLegalMoves);
-        this.blackPlayer = new BlackPlayer(this, whiteLegalMoves, blackLegalMoves);
-        this.currentPlayer = builder.nextMove.choosePlayer(this.whitePlayer, this.blackPlayer);
+    // Moves since the last capture or pawn move, for the fifty move rule.
+    public int getHalfmoveClock() {
+        return this.halfmoveClock;
+    }
 
+    // Starts at 1 and goes up after each black move.
+    public int getFullmoveNumber() {
+        return this.fullmoveNumber;
     }
 
-    public Pawn getEnPassantPawn() {
-        return enPassantPawn;
+    @Override
+    public int hashCode() {
+        final long zobristKey = getZobristKey();
+        return (int) (zobristKey ^ (zobristKey >>> 32));
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        } else if (!(other instanceof Board)) {
+            return false;
+        }
+        final Board otherBoard = (Board) other;
+        return getZobristKey() == otherBoard.getZobristKey() &&
+                this.position.sideToMove == otherBoard.position.sideToMove &&
+                this.position.castlingRights == otherBoard.position.castlingRights &&
+                this.position.enPassantSquare == otherBoard.position.enPassantSquare &&
+                Arrays.equals(this.position.pieceBitBoards, otherBoard.position.pieceBitBoards);
     }
 
     @Override
     public String toString(){
         final StringBuilder builder = new StringBuilder();
         for (int i = 0; i < BoardUtils.NUM_TILES; i++){
-            builder.append((this.gameBoard.get(i)).toString());
+            builder.append(getTile(i).toString());
             if ((i + 1) % BoardUtils.NUM_TILES_PER_ROW == 0){
                 builder.append("\n");
             }
@@ -56,11 +114,18 @@ public class Board {
     }
 
 
-    private Collection<Move> calculateLegalMoves(Collection<Piece> pieces) {
-        final List<Move> legalMoves = new ArrayList<>();
+    // Counts the legal moves without building Move objects for them.
+    public int countLegalMoves(final Alliance alliance) {
+        return MoveGenerator.generateLegalMoves(this.position, alliance.ordinal(), MOVE_BUFFER.get());
+    }
+
+    public Collection<Move> calculateLegalMoves(final Alliance alliance) {
+        final int[] moves = MOVE_BUFFER.get();
+        final int numMoves = MoveGenerator.generateLegalMoves(this.position, alliance.ordinal(), moves);
+        final List<Move> legalMoves = new ArrayList<>(numMoves);
 
-        for(final Piece piece: pieces){
-            legalMoves.addAll(piece.calculateLegalMoves(this));
+        for(int i = 0; i < numMoves; i++){
+            legalMoves.add(EncodedMove.toMove(this, moves[i]));
         }
         return Collections.unmodifiableList(legalMoves);
     }
@@ -68,64 +133,157 @@ public class Board {
     private static Collection<Piece> calculateLivePieces(Builder builder, Alliance alliance) {
         final List<Piece> activePieces= new ArrayList<>();
 
-        for(final Piece piece : builder.boardConfig.values()){
-            if(piece.getPieceAlliance() == alliance){
+        for(final Piece piece : builder.boardConfig){
+            if(piece != null && piece.getPieceAlliance() == alliance){
                 activePieces.add(piece);
             }
         }
         return Collections.unmodifiableList(activePieces);
     }
 
-    private static List<Tile> createGameBoard(Builder builder) {
-        final Tile[] tiles = new Tile[BoardUtils.NUM_TILES];
+    private static BitBoardPosition createPosition(Builder builder) {
+        final BitBoardPosition position = new BitBoardPosition();
         for (int i = 0; i < BoardUtils.NUM_TILES; i++){
-            tiles[i] = Tile.createTile(i, builder.boardConfig.get(i));
+            final Piece piece = builder.boardConfig[i];
+            if (piece != null){
+                position.addPiece(BitBoardUtils.pieceIndex(piece.getPieceAlliance(), piece.getPieceType()), i);
+            }
+        }
+        position.sideToMove = builder.nextMove.ordinal();
+        position.castlingRights = validCastlingRights(position, builder.castlingRights);
+        position.enPassantSquare = validEnPassantSquare(position, builder.enPassantSquare);
+        position.zobristKey = builder.hasZobristKey && position.castlingRights == builder.castlingRights &&
+                position.enPassantSquare == builder.enPassantSquare ?
+                builder.zobristKey : Zobrist.calculateZobristKey(position);
+        return position;
+    }
+
+    // A castling right only stands while its king and rook are on their home tiles.
+    private static int validCastlingRights(final BitBoardPosition position, final int castlingRights) {
+        int validRights = castlingRights;
+        for (int i = 0; i < CASTLING_HOME_TILES.length; i++) {
+            if (position.getPieceIndex(CASTLING_HOME_TILES[i]) != CASTLING_HOME_PIECES[i]) {
+                validRights &= BoardUtils.CASTLING_RIGHTS_MASK[CASTLING_HOME_TILES[i]];
+            }
+        }
+        return validRights;
+    }
+
+    /*
+     * The en passant tile only stands when it is empty, on the row the side not to move has just
+     * jumped over, with that side's pawn right past it. Any other tile is cleared.
+     */
+    private static int validEnPassantSquare(final BitBoardPosition position, final int enPassantSquare) {
+        if (enPassantSquare == BitBoardPosition.NO_SQUARE) {
+            return enPassantSquare;
         }
-        return List.of(tiles);
+        final boolean isWhiteToMove = position.sideToMove == Alliance.WHITE.ordinal();
+        // White moves up the board towards row 0, so a black pawn jumps over row 2 and a white pawn over row 5
+        final int row = isWhiteToMove ? 2 : 5;
+        final int pawnSquare = isWhiteToMove ?
+                enPassantSquare + BoardUtils.NUM_TILES_PER_ROW : enPassantSquare - BoardUtils.NUM_TILES_PER_ROW;
+        final Alliance pawnAlliance = isWhiteToMove ? Alliance.BLACK : Alliance.WHITE;
+        if (enPassantSquare < 0 || enPassantSquare >= BoardUtils.NUM_TILES ||
+                enPassantSquare / BoardUtils.NUM_TILES_PER_ROW != row ||
+                position.getPieceIndex(enPassantSquare) != BitBoardPosition.NO_PIECE ||
+                position.getPieceIndex(pawnSquare) != BitBoardUtils.pieceIndex(pawnAlliance, Piece.PieceType.PAWN)) {
+            return BitBoardPosition.NO_SQUARE;
+        }
+        return enPassantSquare;
     }
 
+    // Tiles are only needed by the GUI, so they are made when first asked for.
     public Tile getTile(int tileCoordinate) {
-        return gameBoard.get(tileCoordinate);
+        Tile tile = this.tiles[tileCoordinate];
+        if (tile == null) {
+            tile = Tile.createTile(tileCoordinate, this.gameBoard[tileCoordinate]);
+            this.tiles[tileCoordinate] = tile;
+        }
+        return tile;
+    }
+
+    public Piece getPiece(int tileCoordinate) {
+        return this.gameBoard[tileCoordinate];
+    }
+
+    public long getPieceBitBoard(final Alliance alliance, final Piece.PieceType pieceType) {
+        return this.position.getPieceBitBoard(alliance, pieceType);
+    }
+
+    public long getAllianceOccupancy(final Alliance alliance) {
+        return this.position.getAllianceOccupancy(alliance);
+    }
+
+    public long getOccupancy() {
+        return this.position.getOccupancy();
+    }
+
+    // Answered from the attack tables and the occupancy, without generating any moves.
+    public boolean isSquareAttacked(final int tileCoordinate, final Alliance byAlliance) {
+        return this.position.isSquareAttacked(tileCoordinate, byAlliance.ordinal());
+    }
+
+    public boolean isInCheck(final Alliance alliance) {
+        return this.position.isInCheck(alliance);
+    }
+
+    /*
+     * Material the move nets once all recaptures on its destination are played out, see
+     * BitBoardPosition.see. Synchronized as the position's swap list is shared by every caller
+     * of this board.
+     */
+    public synchronized int see(final Move move) {
+        return this.position.see(EncodedMove.fromMove(move));
+    }
+
+    public boolean seeGreaterOrEqual(final Move move, final int threshold) {
+        return this.position.seeGreaterOrEqual(EncodedMove.fromMove(move), threshold);
+    }
+
+    BitBoardPosition getPosition() {
+        return this.position;
     }
 
     public static Board createStandardBoard(){
         final Builder builder = new Builder();
 
-        builder.setPiece(new Rook(0, Alliance.BLACK));
-        builder.setPiece(new Knight(1, Alliance.BLACK));
-        builder.setPiece(new Bishop(2, Alliance.BLACK));
-        builder.setPiece(new Queen(3, Alliance.BLACK));
-        builder.setPiece(new King(4, Alliance.BLACK));
-        builder.setPiece(new Bishop(5, Alliance.BLACK));
-        builder.setPiece(new Knight(6, Alliance.BLACK));
-        builder.setPiece(new Rook(7, Alliance.BLACK));
-        builder.setPiece(new Pawn(8, Alliance.BLACK));
-        builder.setPiece(new Pawn(9, Alliance.BLACK));
-        builder.setPiece(new Pawn(10, Alliance.BLACK));
-        builder.setPiece(new Pawn(11, Alliance.BLACK));
-        builder.setPiece(new Pawn(12, Alliance.BLACK));
-        builder.setPiece(new Pawn(13, Alliance.BLACK));
-        builder.setPiece(new Pawn(14, Alliance.BLACK));
-        builder.setPiece(new Pawn(15, Alliance.BLACK));
-
-        builder.setPiece(new Pawn(48, Alliance.WHITE));
-        builder.setPiece(new Pawn(49, Alliance.WHITE));
-        builder.setPiece(new Pawn(50, Alliance.WHITE));
-        builder.setPiece(new Pawn(51, Alliance.WHITE));
-        builder.setPiece(new Pawn(52, Alliance.WHITE));
-        builder.setPiece(new Pawn(53, Alliance.WHITE));
-        builder.setPiece(new Pawn(54, Alliance.WHITE));
-        builder.setPiece(new Pawn(55, Alliance.WHITE));
-        builder.setPiece(new Rook(56, Alliance.WHITE));
-        builder.setPiece(new Knight(57, Alliance.WHITE));
-        builder.setPiece(new Bishop(58, Alliance.WHITE));
-        builder.setPiece(new Queen(59, Alliance.WHITE));
-        builder.setPiece(new King(60, Alliance.WHITE));
-        builder.setPiece(new Bishop(61, Alliance.WHITE));
-        builder.setPiece(new Knight(62, Alliance.WHITE));
-        builder.setPiece(new Rook(63, Alliance.WHITE));
+        builder.setPiece(PieceCache.get(Piece.PieceType.ROOK, Alliance.BLACK, 0));
+        builder.setPiece(PieceCache.get(Piece.PieceType.KNIGHT, Alliance.BLACK, 1));
+        builder.setPiece(PieceCache.get(Piece.PieceType.BISHOP, Alliance.BLACK, 2));
+        builder.setPiece(PieceCache.get(Piece.PieceType.QUEEN, Alliance.BLACK, 3));
+        builder.setPiece(PieceCache.get(Piece.PieceType.KING, Alliance.BLACK, 4));
+        builder.setPiece(PieceCache.get(Piece.PieceType.BISHOP, Alliance.BLACK, 5));
+        builder.setPiece(PieceCache.get(Piece.PieceType.KNIGHT, Alliance.BLACK, 6));
+        builder.setPiece(PieceCache.get(Piece.PieceType.ROOK, Alliance.BLACK, 7));
+        builder.setPiece(PieceCache.get(Piece.PieceType.PAWN, Alliance.BLACK, 8));
+        builder.setPiece(PieceCache.get(Piece.PieceType.PAWN, Alliance.BLACK, 9));
+        builder.setPiece(PieceCache.get(Piece.PieceType.PAWN, Alliance.BLACK, 10));
+        builder.setPiece(PieceCache.get(Piece.PieceType.PAWN, Alliance.BLACK, 11));
+        builder.setPiece(PieceCache.get(Piece.PieceType.PAWN, Alliance.BLACK, 12));
+        builder.setPiece(PieceCache.get(Piece.PieceType.PAWN, Alliance.BLACK, 13));
+        builder.setPiece(PieceCache.get(Piece.PieceType.PAWN, Alliance.BLACK, 14));
+        builder.setPiece(PieceCache.get(Piece.PieceType.PAWN, Alliance.BLACK, 15));
+
+        builder.setPiece(PieceCache.get(Piece.PieceType.PAWN, Alliance.WHITE, 48));
+        builder.setPiece(PieceCache.get(Piece.PieceType.PAWN, Alliance.WHITE, 49));
+        builder.setPiece(PieceCache.get(Piece.PieceType.PAWN, Alliance.WHITE, 50));
+        builder.setPiece(PieceCache.get(Piece.PieceType.PAWN, Alliance.WHITE, 51));
+        builder.setPiece(PieceCache.get(Piece.PieceType.PAWN, Alliance.WHITE, 52));
+        builder.setPiece(PieceCache.get(Piece.PieceType.PAWN, Alliance.WHITE, 53));
+        builder.setPiece(PieceCache.get(Piece.PieceType.PAWN, Alliance.WHITE, 54));
+        builder.setPiece(PieceCache.get(Piece.PieceType.PAWN, Alliance.WHITE, 55));
+        builder.setPiece(PieceCache.get(Piece.PieceType.ROOK, Alliance.WHITE, 56));
+        builder.setPiece(PieceCache.get(Piece.PieceType.KNIGHT, Alliance.WHITE, 57));
+        builder.setPiece(PieceCache.get(Piece.PieceType.BISHOP, Alliance.WHITE, 58));
+        builder.setPiece(PieceCache.get(Piece.PieceType.QUEEN, Alliance.WHITE, 59));
+        builder.setPiece(PieceCache.get(Piece.PieceType.KING, Alliance.WHITE, 60));
+        builder.setPiece(PieceCache.get(Piece.PieceType.BISHOP, Alliance.WHITE, 61));
+        builder.setPiece(PieceCache.get(Piece.PieceType.KNIGHT, Alliance.WHITE, 62));
+        builder.setPiece(PieceCache.get(Piece.PieceType.ROOK, Alliance.WHITE, 63));
 
         builder.setMoveMaker(Alliance.WHITE);
+        builder.setCastlingRights(BoardUtils.WHITE_KING_SIDE_CASTLE | BoardUtils.WHITE_QUEEN_SIDE_CASTLE |
+                BoardUtils.BLACK_KING_SIDE_CASTLE | BoardUtils.BLACK_QUEEN_SIDE_CASTLE);
 
         return builder.build();
     }
@@ -139,36 +297,49 @@ public class Board {
     }
 
     public Player WhitePlayer() {
+        if (this.whitePlayer == null) {
+            this.whitePlayer = new WhitePlayer(this);
+        }
         return this.whitePlayer;
     }
 
     public Player BLackPlayer() {
+        if (this.blackPlayer == null) {
+            this.blackPlayer = new BlackPlayer(this);
+        }
         return this.blackPlayer;
     }
 
     public Player currentPlayer() {
-        return this.currentPlayer;
+        WhitePlayer();
+        BLackPlayer();
+        return this.nextMove.choosePlayer(this.whitePlayer, this.blackPlayer);
     }
 
     public Collection<Move> getAllLegalMoves() {
         List<Move> legalMoves = new ArrayList<Move>();
-        legalMoves.addAll(this.whitePlayer.getLegalMoves());
-        legalMoves.addAll(this.blackPlayer.getLegalMoves());
+        legalMoves.addAll(WhitePlayer().getLegalMoves());
+        legalMoves.addAll(BLackPlayer().getLegalMoves());
         return Collections.unmodifiableList(legalMoves);
     }
 
     public static class Builder {
 
-        Pawn enPassantPawn;
-        Map<Integer, Piece> boardConfig;
+        int castlingRights = BoardUtils.NO_CASTLING_RIGHTS;
+        int enPassantSquare = BitBoardPosition.NO_SQUARE;
+        int halfmoveClock = 0;
+        int fullmoveNumber = 1;
+        final Piece[] boardConfig;
         Alliance nextMove;
+        long zobristKey;
+        boolean hasZobristKey;
 
         public Builder() {
-            this.boardConfig = new HashMap<>();
+            this.boardConfig = new Piece[BoardUtils.NUM_TILES];
         }
 
         public Builder setPiece(final Piece piece){
-            this.boardConfig.put(piece.getPiecePosition(), piece);
+            this.boardConfig[piece.getPiecePosition()] = piece;
             return this;
         }
 
@@ -181,8 +352,31 @@ public class Board {
             return new Board(this);
         }
 
-        public Builder setEnPassantPawn(Pawn enPassantPawn) {
-            this.enPassantPawn = enPassantPawn;
+        // Tile a pawn just jumped over, BitBoardPosition.NO_SQUARE when there is none.
+        public Builder setEnPassantSquare(final int enPassantSquare) {
+            this.enPassantSquare = enPassantSquare;
+            return this;
+        }
+
+        // Bitwise or of the BoardUtils castling constants.
+        public Builder setCastlingRights(final int castlingRights) {
+            this.castlingRights = castlingRights;
+            return this;
+        }
+
+        public Builder setHalfmoveClock(final int halfmoveClock) {
+            this.halfmoveClock = halfmoveClock;
+            return this;
+        }
+
+        public Builder setFullmoveNumber(final int fullmoveNumber) {
+            this.fullmoveNumber = fullmoveNumber;
+            return this;
+        }
+
+        Builder setZobristKey(final long zobristKey) {
+            this.zobristKey = zobristKey;
+            this.hasZobristKey = true;
             return this;
         }
     }
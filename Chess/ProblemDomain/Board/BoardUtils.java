@@ -1,5 +1,6 @@
 package Chess.ProblemDomain.Board;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -26,6 +27,14 @@ public class BoardUtils {
     public static final int NUM_TILES = 64;
     public static final int NUM_TILES_PER_ROW = 8;
 
+    public static final int WHITE_KING_SIDE_CASTLE = 1;
+    public static final int WHITE_QUEEN_SIDE_CASTLE = 2;
+    public static final int BLACK_KING_SIDE_CASTLE = 4;
+    public static final int BLACK_QUEEN_SIDE_CASTLE = 8;
+    public static final int NO_CASTLING_RIGHTS = 0;
+
+    public static final int[] CASTLING_RIGHTS_MASK = initCastlingRightsMask();
+
 
 
     private static boolean[] initColumn(int columnNumber){
@@ -48,6 +57,20 @@ public class BoardUtils {
         return row;
     }
     
+    // Castling rights that survive a move touching the tile, as either its origin or destination
+    private static int[] initCastlingRightsMask(){
+        final int[] castlingRightsMask = new int[NUM_TILES];
+        Arrays.fill(castlingRightsMask, WHITE_KING_SIDE_CASTLE | WHITE_QUEEN_SIDE_CASTLE |
+                BLACK_KING_SIDE_CASTLE | BLACK_QUEEN_SIDE_CASTLE);
+        castlingRightsMask[60] &= ~(WHITE_KING_SIDE_CASTLE | WHITE_QUEEN_SIDE_CASTLE);
+        castlingRightsMask[63] &= ~WHITE_KING_SIDE_CASTLE;
+        castlingRightsMask[56] &= ~WHITE_QUEEN_SIDE_CASTLE;
+        castlingRightsMask[4] &= ~(BLACK_KING_SIDE_CASTLE | BLACK_QUEEN_SIDE_CASTLE);
+        castlingRightsMask[7] &= ~BLACK_KING_SIDE_CASTLE;
+        castlingRightsMask[0] &= ~BLACK_QUEEN_SIDE_CASTLE;
+        return castlingRightsMask;
+    }
+
     private BoardUtils(){
         throw new RuntimeException("You cannot instantiate me");
     }
@@ -0,0 +1,140 @@
+package Chess.ProblemDomain.Board;
+
+import Chess.ProblemDomain.Piece.Piece;
+import Chess.ProblemDomain.Piece.Piece.PieceType;
+import Chess.ProblemDomain.Piece.Rook;
+
+/*
+ * Engine side moves packed into an int:
+ *
+ *   bits  0-5   from tile
+ *   bits  6-11  destination tile
+ *   bits 12-15  moved piece index
+ *   bits 16-19  captured piece index, BitBoardPosition.NO_PIECE when nothing is taken
+ *   bits 20-22  promotion piece type ordinal, 0 when the move does not promote
+ *   bits 23-25  move flag
+ *
+ * 0 never encodes a real move since its from and destination tiles are the same.
+ */
+public final class EncodedMove {
+
+    public static final int NULL_MOVE = 0;
+
+    public static final int NORMAL = 0;
+    public static final int PAWN_JUMP = 1;
+    public static final int EN_PASSANT = 2;
+    public static final int KING_SIDE_CASTLE = 3;
+    public static final int QUEEN_SIDE_CASTLE = 4;
+
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+
+    private EncodedMove(){
+        throw new RuntimeException("You cannot instantiate me");
+    }
+
+    public static int create(final int from, final int to, final int movedPiece, final int capturedPiece,
+                             final int promotionType, final int flag) {
+        return from | (to << 6) | (movedPiece << 12) | (capturedPiece << 16) | (promotionType << 20) | (flag << 23);
+    }
+
+    public static int getFrom(final int move) {
+        return move & 0x3F;
+    }
+
+    public static int getTo(final int move) {
+        return (move >>> 6) & 0x3F;
+    }
+
+    public static int getMovedPiece(final int move) {
+        return (move >>> 12) & 0xF;
+    }
+
+    public static int getCapturedPiece(final int move) {
+        return (move >>> 16) & 0xF;
+    }
+
+    public static int getPromotionType(final int move) {
+        return (move >>> 20) & 0x7;
+    }
+
+    public static int getFlag(final int move) {
+        return (move >>> 23) & 0x7;
+    }
+
+    public static boolean isCapture(final int move) {
+        return getCapturedPiece(move) != BitBoardPosition.NO_PIECE;
+    }
+
+    public static boolean isPromotion(final int move) {
+        return getPromotionType(move) != 0;
+    }
+
+    public static boolean isCastle(final int move) {
+        final int flag = getFlag(move);
+        return flag == KING_SIDE_CASTLE || flag == QUEEN_SIDE_CASTLE;
+    }
+
+    // Tile of the piece an en passant capture takes, one row behind the destination.
+    public static int getCapturedSquare(final int move) {
+        if (getFlag(move) != EN_PASSANT) {
+            return getTo(move);
+        }
+        return getMovedPiece(move) < BitBoardUtils.NUM_PIECE_TYPES ? getTo(move) + BoardUtils.NUM_TILES_PER_ROW :
+                getTo(move) - BoardUtils.NUM_TILES_PER_ROW;
+    }
+
+    public static int fromMove(final Move move) {
+        final Piece movePiece = move.getMovePiece();
+        final Piece attackedPiece = move.getAttackedPiece();
+        final int capturedPiece = attackedPiece == null ? BitBoardPosition.NO_PIECE :
+                BitBoardUtils.pieceIndex(attackedPiece.getPieceAlliance(), attackedPiece.getPieceType());
+        int promotionType = 0;
+        int flag = NORMAL;
+        if (move instanceof Move.PawnPromotionMove) {
+            promotionType = ((Move.PawnPromotionMove) move).promotedTo.ordinal();
+        } else if (move instanceof Move.PawnJump) {
+            flag = PAWN_JUMP;
+        } else if (move instanceof Move.PawnEnPassantAttackMove) {
+            flag = EN_PASSANT;
+        } else if (move instanceof Move.KingSideCastle) {
+            flag = KING_SIDE_CASTLE;
+        } else if (move instanceof Move.QueenSideCastle) {
+            flag = QUEEN_SIDE_CASTLE;
+        }
+        return create(move.getCurrentCoordinate(), move.getDestCoordinate(),
+                BitBoardUtils.pieceIndex(movePiece.getPieceAlliance(), movePiece.getPieceType()),
+                capturedPiece, promotionType, flag);
+    }
+
+    public static Move toMove(final Board board, final int move) {
+        final int from = getFrom(move);
+        final int to = getTo(move);
+        final Piece movePiece = board.getPiece(from);
+        switch (getFlag(move)) {
+            case PAWN_JUMP:
+                return new Move.PawnJump(board, movePiece, to);
+            case EN_PASSANT:
+                return new Move.PawnEnPassantAttackMove(board, movePiece, to,
+                        board.getPiece(getCapturedSquare(move)));
+            case KING_SIDE_CASTLE:
+                return new Move.KingSideCastle(board, movePiece, to, (Rook) board.getPiece(from + 3), from + 3, from + 1);
+            case QUEEN_SIDE_CASTLE:
+                return new Move.QueenSideCastle(board, movePiece, to, (Rook) board.getPiece(from - 4), from - 4, from - 1);
+            default:
+                break;
+        }
+        if (movePiece.getPieceType() != PieceType.PAWN) {
+            return isCapture(move) ? new Move.MajorAttackMove(board, movePiece, to, board.getPiece(to)) :
+                    new Move.MajorMove(board, movePiece, to);
+        }
+        final Move pawnMove = isCapture(move) ? new Move.PawnAttackMove(board, movePiece, to, board.getPiece(to)) :
+                new Move.PawnMove(board, movePiece, to);
+        return isPromotion(move) ? new Move.PawnPromotionMove(pawnMove, PIECE_TYPES[getPromotionType(move)]) : pawnMove;
+    }
+
+    public static String toString(final int move) {
+        final String promotion = isPromotion(move) ? PIECE_TYPES[getPromotionType(move)].toString().toLowerCase() : "";
+        return BoardUtils.getPositionAtCoordinate(getFrom(move)) + BoardUtils.getPositionAtCoordinate(getTo(move)) +
+                promotion;
+    }
+}
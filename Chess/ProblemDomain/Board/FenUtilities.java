@@ -0,0 +1,229 @@
+package Chess.ProblemDomain.Board;
+
+import Chess.ProblemDomain.Alliance;
+import Chess.ProblemDomain.Piece.Piece;
+import Chess.ProblemDomain.Piece.Piece.PieceType;
+import Chess.ProblemDomain.Piece.PieceCache;
+
+/*
+ * Reads and writes positions in Forsyth-Edwards Notation. Parsing walks the string once without
+ * splitting it or using regular expressions, so suites of millions of positions load quickly.
+ * The move counters may be left off, as in EPD records. A record that cannot come up in a game
+ * throws: ranks not each covering eight tiles, anything but one king a side, a pawn on the first
+ * or last rank, an en passant tile no pawn has just jumped over, the side not to move in check,
+ * or fields past the sixth.
+ */
+public final class FenUtilities {
+
+    private FenUtilities(){
+        throw new RuntimeException("You cannot instantiate me");
+    }
+
+    public static Board createBoardFromFEN(final String fen) {
+        final Board.Builder builder = new Board.Builder();
+        final int length = fen.length();
+        int index = skipSpaces(fen, 0);
+
+        int row = 0;
+        int column = 0;
+        int whiteKings = 0;
+        int blackKings = 0;
+        for (; index < length && fen.charAt(index) != ' '; index++) {
+            final char symbol = fen.charAt(index);
+            if (symbol == '/') {
+                if (column != BoardUtils.NUM_TILES_PER_ROW || ++row == BoardUtils.NUM_TILES_PER_ROW) {
+                    throw invalidFEN(fen);
+                }
+                column = 0;
+                continue;
+            }
+            if (symbol >= '1' && symbol <= '8') {
+                column += symbol - '0';
+            } else {
+                if (column >= BoardUtils.NUM_TILES_PER_ROW) {
+                    throw invalidFEN(fen);
+                }
+                final Alliance alliance = Character.isUpperCase(symbol) ? Alliance.WHITE : Alliance.BLACK;
+                final PieceType pieceType = pieceType(Character.toUpperCase(symbol), fen);
+                if (pieceType == PieceType.PAWN && (row == 0 || row == BoardUtils.NUM_TILES_PER_ROW - 1)) {
+                    throw invalidFEN(fen);
+                }
+                if (pieceType == PieceType.KING) {
+                    if (alliance.isWhite()) {
+                        whiteKings++;
+                    } else {
+                        blackKings++;
+                    }
+                }
+                final boolean isFirstMove = pieceType == PieceType.PAWN &&
+                        row == (alliance.isWhite() ? BoardUtils.NUM_TILES_PER_ROW - 2 : 1);
+                builder.setPiece(PieceCache.get(pieceType, alliance, row * BoardUtils.NUM_TILES_PER_ROW + column, isFirstMove));
+                column++;
+            }
+            if (column > BoardUtils.NUM_TILES_PER_ROW) {
+                throw invalidFEN(fen);
+            }
+        }
+        if (row != BoardUtils.NUM_TILES_PER_ROW - 1 || column != BoardUtils.NUM_TILES_PER_ROW ||
+                whiteKings != 1 || blackKings != 1) {
+            throw invalidFEN(fen);
+        }
+
+        index = skipSpaces(fen, index);
+        if (index >= length) {
+            throw invalidFEN(fen);
+        }
+        final Alliance sideToMove;
+        switch (fen.charAt(index++)) {
+            case 'w': sideToMove = Alliance.WHITE; break;
+            case 'b': sideToMove = Alliance.BLACK; break;
+            default: throw invalidFEN(fen);
+        }
+        builder.setMoveMaker(sideToMove);
+
+        index = skipSpaces(fen, index);
+        int castlingRights = BoardUtils.NO_CASTLING_RIGHTS;
+        for (; index < length && fen.charAt(index) != ' '; index++) {
+            switch (fen.charAt(index)) {
+                case 'K': castlingRights |= BoardUtils.WHITE_KING_SIDE_CASTLE; break;
+                case 'Q': castlingRights |= BoardUtils.WHITE_QUEEN_SIDE_CASTLE; break;
+                case 'k': castlingRights |= BoardUtils.BLACK_KING_SIDE_CASTLE; break;
+                case 'q': castlingRights |= BoardUtils.BLACK_QUEEN_SIDE_CASTLE; break;
+                case '-': break;
+                default: throw invalidFEN(fen);
+            }
+        }
+        // Rights whose king or rook has left its home tile are dropped when the board is built
+        builder.setCastlingRights(castlingRights);
+
+        index = skipSpaces(fen, index);
+        if (index < length && fen.charAt(index) != '-') {
+            if (index + 1 >= length) {
+                throw invalidFEN(fen);
+            }
+            final int file = fen.charAt(index) - 'a';
+            final int rank = fen.charAt(index + 1) - '1';
+            // The tile a pawn of the side not to move has just jumped over, with that pawn right past it
+            final int enPassantRank = sideToMove.isWhite() ? 5 : 2;
+            if (file < 0 || file >= BoardUtils.NUM_TILES_PER_ROW || rank != enPassantRank) {
+                throw invalidFEN(fen);
+            }
+            final int enPassantSquare = (BoardUtils.NUM_TILES_PER_ROW - 1 - rank) * BoardUtils.NUM_TILES_PER_ROW + file;
+            final Piece jumpedPawn = builder.boardConfig[sideToMove.isWhite() ?
+                    enPassantSquare + BoardUtils.NUM_TILES_PER_ROW : enPassantSquare - BoardUtils.NUM_TILES_PER_ROW];
+            if (jumpedPawn == null || jumpedPawn.getPieceType() != PieceType.PAWN ||
+                    jumpedPawn.getPieceAlliance() == sideToMove || builder.boardConfig[enPassantSquare] != null) {
+                throw invalidFEN(fen);
+            }
+            builder.setEnPassantSquare(enPassantSquare);
+        }
+        index = fieldEnd(fen, index);
+
+        index = skipSpaces(fen, index);
+        if (index < length) {
+            final int end = fieldEnd(fen, index);
+            builder.setHalfmoveClock(parseNumber(fen, index, end));
+            index = skipSpaces(fen, end);
+            if (index < length) {
+                final int fullmoveEnd = fieldEnd(fen, index);
+                builder.setFullmoveNumber(parseNumber(fen, index, fullmoveEnd));
+                if (skipSpaces(fen, fullmoveEnd) < length) {
+                    throw invalidFEN(fen);
+                }
+            }
+        }
+        final Board board = builder.build();
+        // The side to move could take the king
+        if (board.isInCheck(sideToMove.opponent())) {
+            throw invalidFEN(fen);
+        }
+        return board;
+    }
+
+    public static String createFENFromBoard(final Board board) {
+        final StringBuilder builder = new StringBuilder(90);
+        for (int row = 0; row < BoardUtils.NUM_TILES_PER_ROW; row++) {
+            int emptyTiles = 0;
+            for (int column = 0; column < BoardUtils.NUM_TILES_PER_ROW; column++) {
+                final Piece piece = board.getPiece(row * BoardUtils.NUM_TILES_PER_ROW + column);
+                if (piece == null) {
+                    emptyTiles++;
+                    continue;
+                }
+                if (emptyTiles > 0) {
+                    builder.append(emptyTiles);
+                    emptyTiles = 0;
+                }
+                final char symbol = piece.getPieceType().toString().charAt(0);
+                builder.append(piece.getPieceAlliance().isWhite() ? symbol : Character.toLowerCase(symbol));
+            }
+            if (emptyTiles > 0) {
+                builder.append(emptyTiles);
+            }
+            if (row < BoardUtils.NUM_TILES_PER_ROW - 1) {
+                builder.append('/');
+            }
+        }
+
+        builder.append(board.getPosition().sideToMove == Alliance.WHITE.ordinal() ? " w " : " b ");
+
+        final int castlingRights = board.getCastlingRights();
+        if (castlingRights == BoardUtils.NO_CASTLING_RIGHTS) {
+            builder.append('-');
+        } else {
+            if ((castlingRights & BoardUtils.WHITE_KING_SIDE_CASTLE) != 0) builder.append('K');
+            if ((castlingRights & BoardUtils.WHITE_QUEEN_SIDE_CASTLE) != 0) builder.append('Q');
+            if ((castlingRights & BoardUtils.BLACK_KING_SIDE_CASTLE) != 0) builder.append('k');
+            if ((castlingRights & BoardUtils.BLACK_QUEEN_SIDE_CASTLE) != 0) builder.append('q');
+        }
+
+        final int enPassantSquare = board.getEnPassantSquare();
+        builder.append(' ').append(enPassantSquare == BitBoardPosition.NO_SQUARE ?
+                "-" : BoardUtils.getPositionAtCoordinate(enPassantSquare));
+
+        builder.append(' ').append(board.getHalfmoveClock()).append(' ').append(board.getFullmoveNumber());
+        return builder.toString();
+    }
+
+    private static PieceType pieceType(final char symbol, final String fen) {
+        switch (symbol) {
+            case 'P': return PieceType.PAWN;
+            case 'N': return PieceType.KNIGHT;
+            case 'B': return PieceType.BISHOP;
+            case 'R': return PieceType.ROOK;
+            case 'Q': return PieceType.QUEEN;
+            case 'K': return PieceType.KING;
+            default: throw invalidFEN(fen);
+        }
+    }
+
+    private static int skipSpaces(final String fen, int index) {
+        while (index < fen.length() && fen.charAt(index) == ' ') {
+            index++;
+        }
+        return index;
+    }
+
+    private static int fieldEnd(final String fen, int index) {
+        while (index < fen.length() && fen.charAt(index) != ' ') {
+            index++;
+        }
+        return index;
+    }
+
+    private static int parseNumber(final String fen, final int start, final int end) {
+        int number = 0;
+        for (int i = start; i < end; i++) {
+            final char digit = fen.charAt(i);
+            if (digit < '0' || digit > '9') {
+                throw invalidFEN(fen);
+            }
+            number = number * 10 + (digit - '0');
+        }
+        return number;
+    }
+
+    private static RuntimeException invalidFEN(final String fen) {
+        return new RuntimeException("Invalid FEN: " + fen);
+    }
+}
@@ -0,0 +1,193 @@
+package Chess.ProblemDomain.Board;
+
+/*
+ * Magic bitboard lookup tables for the sliding pieces. The relevant blockers of a square
+ * are multiplied by its magic number and the top bits of the product index a precomputed
+ * attack set, so a rook, bishop or queen attack set is a couple of table reads whatever
+ * the occupancy. The magics were searched for the a8 = 0 tile numbering used across the board.
+ */
+public class MagicBitBoards {
+
+    private static final int[][] ROOK_DIRECTIONS = {{0, 1}, {1, 0}, {0, -1}, {-1, 0}};
+    private static final int[][] BISHOP_DIRECTIONS = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+
+    private static final long[] ROOK_MAGICS = {
+            0x1080004008801020L, 0x0840092002C03000L, 0x1900200010400900L,
+            0x0880100008000480L, 0x4200100420080200L, 0x8100020100080400L,
+            0x0200040110886200L, 0x0200008040220411L, 0x0404800084400220L,
+            0x0000401000402000L, 0x0086001081220440L, 0x0408800800100280L,
+            0x000A001201040820L, 0x8848800200840080L, 0x4001000100040200L,
+            0x0442000102105084L, 0x9080010020804100L, 0x0040404000201009L,
+            0x0000808010002009L, 0x2200090021D00100L, 0x0008008008040080L,
+            0x0004004002010040L, 0x0011040008015042L, 0x00000A0001768104L,
+            0x0000800080204009L, 0x2010004140002001L, 0x9800200280100080L,
+            0x1000100080080080L, 0x0442000A00049020L, 0x2100040080020080L,
+            0x0800120400900148L, 0x0010040A00128541L, 0x2800804000800030L,
+            0x1010002000400041L, 0x4000200011004100L, 0x0610008410800800L,
+            0x0400802402800800L, 0xC100020080800400L, 0x0002000802000401L,
+            0x0182085882000401L, 0x0220204000808000L, 0x2860100040024022L,
+            0x0001002004110040L, 0x99101042000A0020L, 0x0004080004008080L,
+            0x0010040002008080L, 0x2012004881020004L, 0x8300842444820011L,
+            0x0088403882010200L, 0x0820400080210100L, 0x0110910040A00300L,
+            0x0801100280080480L, 0x0242009008200600L, 0x1002000489500200L,
+            0x0040800200010080L, 0x0091800041000080L, 0x0000209300488001L,
+            0x04C1002414824001L, 0x020020000B001041L, 0x7000100004200901L,
+            0x8002002004100802L, 0x30010002084C0007L, 0x0888221800813004L,
+            0x4000002840840112L
+    };
+
+    private static final long[] BISHOP_MAGICS = {
+            0xA010041108003100L, 0x006082020A002900L, 0x6810010619200000L,
+            0x08281A0520000408L, 0x0001104001000400L, 0x0018901008048400L,
+            0x00040A0210245280L, 0x000200210808A402L, 0x9140048410821200L,
+            0x0800091010820041L, 0x20504804832202C0L, 0x0100091401081000L,
+            0x8021011140000012L, 0x0810020804450400L, 0x208B0542109008A2L,
+            0x0080084A08040204L, 0x0040E2A80811244CL, 0x2505022008008108L,
+            0x0430220100420040L, 0x010A040420220040L, 0x1105000290400000L,
+            0x0093001200822120L, 0x4000A62048043004L, 0x280120048A015004L,
+            0x006090002A020814L, 0x44042000240800D0L, 0x01102800040A4400L,
+            0x1004080080220040L, 0x0001001011004024L, 0x0010044000805040L,
+            0x0914041200820100L, 0x0004821012821480L, 0x0024040500C05021L,
+            0x0088611002080200L, 0x0116080A00040020L, 0x4000020080080080L,
+            0x2450450140840040L, 0x0000880201484100L, 0x0222020404020092L,
+            0x8081110600002E00L, 0x2842101105000801L, 0x1100809008001025L,
+            0x00020202221C0400L, 0x0422014022009020L, 0x0210046102100C00L,
+            0xC004008082029102L, 0x00AA461801101200L, 0x0404080080201108L,
+            0x020542108C205002L, 0x0410544804100100L, 0x0040910841100000L,
+            0x0400200042021100L, 0x00004204850400C0L, 0x0200100410A42102L,
+            0x1040020801210102L, 0x0805040410420000L, 0x2884804130100200L,
+            0x800C262201242000L, 0x1058000194108800L, 0x0014221054420204L,
+            0x0104000012A02200L, 0x0200881003300100L, 0x0140400202840100L,
+            0x0402020801010201L
+    };
+
+    private static final long[] ROOK_MASKS = new long[BoardUtils.NUM_TILES];
+    private static final int[] ROOK_SHIFTS = new int[BoardUtils.NUM_TILES];
+    private static final int[] ROOK_OFFSETS = new int[BoardUtils.NUM_TILES];
+    private static final long[] ROOK_TABLE = initTable(ROOK_DIRECTIONS, ROOK_MAGICS, ROOK_MASKS, ROOK_SHIFTS, ROOK_OFFSETS);
+
+    private static final long[] BISHOP_MASKS = new long[BoardUtils.NUM_TILES];
+    private static final int[] BISHOP_SHIFTS = new int[BoardUtils.NUM_TILES];
+    private static final int[] BISHOP_OFFSETS = new int[BoardUtils.NUM_TILES];
+    private static final long[] BISHOP_TABLE = initTable(BISHOP_DIRECTIONS, BISHOP_MAGICS, BISHOP_MASKS, BISHOP_SHIFTS,
+            BISHOP_OFFSETS);
+
+    private static final long[] BETWEEN = new long[BoardUtils.NUM_TILES * BoardUtils.NUM_TILES];
+    private static final long[] LINE = new long[BoardUtils.NUM_TILES * BoardUtils.NUM_TILES];
+
+    static {
+        initLines();
+    }
+
+    private MagicBitBoards(){
+        throw new RuntimeException("You cannot instantiate me");
+    }
+
+    public static long rookAttacks(final int square, final long occupancy) {
+        return ROOK_TABLE[ROOK_OFFSETS[square] +
+                (int) (((occupancy & ROOK_MASKS[square]) * ROOK_MAGICS[square]) >>> ROOK_SHIFTS[square])];
+    }
+
+    public static long bishopAttacks(final int square, final long occupancy) {
+        return BISHOP_TABLE[BISHOP_OFFSETS[square] +
+                (int) (((occupancy & BISHOP_MASKS[square]) * BISHOP_MAGICS[square]) >>> BISHOP_SHIFTS[square])];
+    }
+
+    public static long queenAttacks(final int square, final long occupancy) {
+        return rookAttacks(square, occupancy) | bishopAttacks(square, occupancy);
+    }
+
+    /*
+     * The tiles strictly between two tiles sharing a row, column or diagonal, or an empty
+     * board when they are not aligned.
+     */
+    public static long between(final int from, final int to) {
+        return BETWEEN[from * BoardUtils.NUM_TILES + to];
+    }
+
+    /*
+     * The whole row, column or diagonal through two aligned tiles, edge to edge, or an
+     * empty board when they are not aligned.
+     */
+    public static long line(final int from, final int to) {
+        return LINE[from * BoardUtils.NUM_TILES + to];
+    }
+
+    private static long[] initTable(final int[][] directions, final long[] magics, final long[] masks,
+                                    final int[] shifts, final int[] offsets) {
+        int tableSize = 0;
+        for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+            masks[square] = relevantBlockers(square, directions);
+            shifts[square] = 64 - Long.bitCount(masks[square]);
+            offsets[square] = tableSize;
+            tableSize += 1 << Long.bitCount(masks[square]);
+        }
+
+        final long[] table = new long[tableSize];
+        for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+            long blockers = 0;
+            do {
+                final int index = (int) ((blockers * magics[square]) >>> shifts[square]);
+                table[offsets[square] + index] = slidingAttacks(square, blockers, directions);
+                blockers = (blockers - masks[square]) & masks[square];
+            } while (blockers != 0);
+        }
+        return table;
+    }
+
+    private static void initLines() {
+        for (int from = 0; from < BoardUtils.NUM_TILES; from++) {
+            for (int to = 0; to < BoardUtils.NUM_TILES; to++) {
+                if (from == to) {
+                    continue;
+                }
+                for (final int[][] directions : new int[][][]{ROOK_DIRECTIONS, BISHOP_DIRECTIONS}) {
+                    if (BitBoardUtils.isSet(slidingAttacks(from, 0, directions), to)) {
+                        BETWEEN[from * BoardUtils.NUM_TILES + to] =
+                                slidingAttacks(from, BitBoardUtils.squareBit(to), directions) &
+                                slidingAttacks(to, BitBoardUtils.squareBit(from), directions);
+                        LINE[from * BoardUtils.NUM_TILES + to] =
+                                (slidingAttacks(from, 0, directions) & slidingAttacks(to, 0, directions)) |
+                                BitBoardUtils.squareBit(from) | BitBoardUtils.squareBit(to);
+                    }
+                }
+            }
+        }
+    }
+
+    private static long relevantBlockers(final int square, final int[][] directions) {
+        long blockers = 0;
+        for (final int[] direction : directions) {
+            int row = square / BoardUtils.NUM_TILES_PER_ROW + direction[0];
+            int column = square % BoardUtils.NUM_TILES_PER_ROW + direction[1];
+            while (isOnBoard(row + direction[0], column + direction[1])) {
+                blockers |= BitBoardUtils.squareBit(row * BoardUtils.NUM_TILES_PER_ROW + column);
+                row += direction[0];
+                column += direction[1];
+            }
+        }
+        return blockers;
+    }
+
+    private static long slidingAttacks(final int square, final long occupancy, final int[][] directions) {
+        long attacks = 0;
+        for (final int[] direction : directions) {
+            int row = square / BoardUtils.NUM_TILES_PER_ROW + direction[0];
+            int column = square % BoardUtils.NUM_TILES_PER_ROW + direction[1];
+            while (isOnBoard(row, column)) {
+                final int target = row * BoardUtils.NUM_TILES_PER_ROW + column;
+                attacks |= BitBoardUtils.squareBit(target);
+                if (BitBoardUtils.isSet(occupancy, target)) {
+                    break;
+                }
+                row += direction[0];
+                column += direction[1];
+            }
+        }
+        return attacks;
+    }
+
+    private static boolean isOnBoard(final int row, final int column) {
+        return row >= 0 && row < BoardUtils.NUM_TILES_PER_ROW && column >= 0 && column < BoardUtils.NUM_TILES_PER_ROW;
+    }
+}
@@ -1,6 +1,7 @@
 package Chess.ProblemDomain.Board;
 import Chess.ProblemDomain.Piece.Pawn;
 import Chess.ProblemDomain.Piece.Piece;
+import Chess.ProblemDomain.Piece.PieceCache;
 import Chess.ProblemDomain.Piece.Rook;
 
 import static Chess.ProblemDomain.Board.Board.*;
@@ -76,9 +77,50 @@ public abstract class Move {
 
         builder.setPiece(this.movePiece.movePiece(this));
         builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+        builder.setCastlingRights(calculateCastlingRights());
+        builder.setHalfmoveClock(calculateHalfmoveClock());
+        builder.setFullmoveNumber(calculateFullmoveNumber());
+        builder.setZobristKey(calculateZobristKey());
         return builder.build();
     }
 
+    // Castling rights are lost when a move touches a king or rook home tile.
+    protected int calculateCastlingRights() {
+        return this.board.getCastlingRights() & BoardUtils.CASTLING_RIGHTS_MASK[getCurrentCoordinate()] &
+                BoardUtils.CASTLING_RIGHTS_MASK[this.destCoordinate];
+    }
+
+    // The clock restarts on a capture or a pawn move.
+    protected int calculateHalfmoveClock() {
+        return isAttack() || this.movePiece.getPieceType() == PieceType.PAWN ? 0 : this.board.getHalfmoveClock() + 1;
+    }
+
+    protected int calculateFullmoveNumber() {
+        return this.board.getFullmoveNumber() + (this.movePiece.getPieceAlliance().isBlack() ? 1 : 0);
+    }
+
+    protected long calculateZobristKey() {
+        long zobristKey = calculateStateZobristKey() ^ pieceKey(this.movePiece, getCurrentCoordinate()) ^
+                pieceKey(this.movePiece, this.destCoordinate);
+        if (isAttack()) {
+            zobristKey ^= pieceKey(getAttackedPiece(), getAttackedPiece().getPiecePosition());
+        }
+        return zobristKey;
+    }
+
+    // The side to move flips, any en passant file expires and castling rights may be lost.
+    protected long calculateStateZobristKey() {
+        return this.board.getZobristKey() ^ Zobrist.blackToMoveKey() ^
+                Zobrist.enPassantSquareKey(this.board.getEnPassantSquare()) ^
+                Zobrist.castlingKey(this.board.getCastlingRights()) ^
+                Zobrist.castlingKey(calculateCastlingRights());
+    }
+
+    protected static long pieceKey(final Piece piece, final int tileCoordinate) {
+        return Zobrist.pieceKey(BitBoardUtils.pieceIndex(piece.getPieceAlliance(), piece.getPieceType()),
+                tileCoordinate);
+    }
+
     public Piece getMovePiece() {
         return movePiece;
     }
@@ -203,9 +245,15 @@ public abstract class Move {
 
             final Pawn movedPawn = (Pawn) this.movePiece.movePiece(this);
 
+            final int enPassantSquare = (getCurrentCoordinate() + this.destCoordinate) / 2;
+
             builder.setPiece(movedPawn);
-            builder.setEnPassantPawn(movedPawn);
+            builder.setEnPassantSquare(enPassantSquare);
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+            builder.setCastlingRights(calculateCastlingRights());
+            builder.setHalfmoveClock(calculateHalfmoveClock());
+            builder.setFullmoveNumber(calculateFullmoveNumber());
+            builder.setZobristKey(calculateZobristKey() ^ Zobrist.enPassantSquareKey(enPassantSquare));
             return builder.build();
         }
     }
@@ -236,6 +284,10 @@ public abstract class Move {
             }
             builder.setPiece(this.movePiece.movePiece(this));
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+            builder.setCastlingRights(calculateCastlingRights());
+            builder.setHalfmoveClock(calculateHalfmoveClock());
+            builder.setFullmoveNumber(calculateFullmoveNumber());
+            builder.setZobristKey(calculateZobristKey());
             return builder.build();
         }
     }
@@ -266,8 +318,14 @@ public abstract class Move {
                 builder.setPiece(piece);
             }
 
-            builder.setPiece(this.promotedPawn.getPromotionPiece(promotedTo).movePiece(this));
+            final Piece promotionPiece = this.promotedPawn.getPromotionPiece(promotedTo).movePiece(this);
+            builder.setPiece(promotionPiece);
             builder.setMoveMaker(pawnMoveBoard.currentPlayer().getAlliance());
+            builder.setCastlingRights(pawnMoveBoard.getCastlingRights());
+            builder.setHalfmoveClock(pawnMoveBoard.getHalfmoveClock());
+            builder.setFullmoveNumber(pawnMoveBoard.getFullmoveNumber());
+            builder.setZobristKey(pawnMoveBoard.getZobristKey() ^ pieceKey(this.promotedPawn, this.destCoordinate) ^
+                    pieceKey(promotionPiece, this.destCoordinate));
             return builder.build();
         }
 
@@ -330,8 +388,14 @@ public abstract class Move {
             }
 
             builder.setPiece(this.movePiece.movePiece(this));
-            builder.setPiece(new Rook(this.castleRookDestination, this.castleRook.getPieceAlliance()));
+            builder.setPiece(PieceCache.get(Piece.PieceType.ROOK, this.castleRook.getPieceAlliance(),
+                    this.castleRookDestination, false));
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+            builder.setCastlingRights(calculateCastlingRights());
+            builder.setHalfmoveClock(calculateHalfmoveClock());
+            builder.setFullmoveNumber(calculateFullmoveNumber());
+            builder.setZobristKey(calculateZobristKey() ^ pieceKey(this.castleRook, this.castleRookStart) ^
+                    pieceKey(this.castleRook, this.castleRookDestination));
             return builder.build();
         }
 
@@ -423,29 +487,28 @@ public abstract class Move {
         }
         
         public static Move createMove(final Board board, final int currentCoordinate, final int destinationCoordinate){
-            for(final Move move: board.getAllLegalMoves()){
-                if(move.getDestCoordinate() == destinationCoordinate &&
-                    move.getCurrentCoordinate() == currentCoordinate){
-                    return move;
-                }
-            }
-            return NULL_MOVE;
+            // Without a choice of piece a promotion defaults to a queen
+            final Move move = findLegalMove(board, currentCoordinate, destinationCoordinate, null);
+            return move != NULL_MOVE ? move :
+                    findLegalMove(board, currentCoordinate, destinationCoordinate, PieceType.QUEEN);
         }
 
         public static Move createMove(final Board board, final int currentCoordinate, final int destinationCoordinate,
                                       PieceType promotionPiece){
-            for(final Move move: board.getAllLegalMoves()){
-                if(move.getDestCoordinate() == destinationCoordinate &&
-                        move.getCurrentCoordinate() == currentCoordinate){
+            final Move move = findLegalMove(board, currentCoordinate, destinationCoordinate, promotionPiece);
+            return move != NULL_MOVE ? move : findLegalMove(board, currentCoordinate, destinationCoordinate, null);
+        }
 
-                    if (!(move instanceof PawnPromotionMove) || ((PawnPromotionMove) move).promotedTo.equals(promotionPiece)) {
-                        return move;
-                    }
-                }
+        private static Move findLegalMove(final Board board, final int currentCoordinate,
+                                          final int destinationCoordinate, final PieceType promotionPiece){
+            Move move = board.WhitePlayer().getLegalMoveIndex().get(currentCoordinate, destinationCoordinate,
+                    promotionPiece);
+            if (move == null){
+                move = board.BLackPlayer().getLegalMoveIndex().get(currentCoordinate, destinationCoordinate,
+                        promotionPiece);
             }
-            return NULL_MOVE;
+            return move == null ? NULL_MOVE : move;
         }
-
     }
 
 
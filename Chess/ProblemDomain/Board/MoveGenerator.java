@@ -0,0 +1,252 @@
+package Chess.ProblemDomain.Board;
+
+import static Chess.ProblemDomain.Board.BitBoardPosition.NO_PIECE;
+import static Chess.ProblemDomain.Board.BitBoardPosition.NO_SQUARE;
+import static Chess.ProblemDomain.Board.BitBoardUtils.*;
+
+/*
+ * Move generation on a BitBoardPosition, writing EncodedMove ints into a caller owned array.
+ *
+ * Legal generation works out the checking pieces and the pinned pieces first. In check every
+ * non king move is limited to capturing the checker or blocking its ray, a pinned piece can
+ * only move along the line through its king, and king moves are tested with the king taken off
+ * the board so it cannot step back along a slider's ray. No move is played to test it.
+ */
+final class MoveGenerator {
+
+    private static final long WHITE_KING_SIDE_CASTLE_PATH = squareBit(61) | squareBit(62);
+    private static final long WHITE_QUEEN_SIDE_CASTLE_PATH = squareBit(59) | squareBit(58) | squareBit(57);
+    private static final long BLACK_KING_SIDE_CASTLE_PATH = squareBit(5) | squareBit(6);
+    private static final long BLACK_QUEEN_SIDE_CASTLE_PATH = squareBit(3) | squareBit(2) | squareBit(1);
+
+    private MoveGenerator(){
+        throw new RuntimeException("You cannot instantiate me");
+    }
+
+    /*
+     * Moves of an alliance ignoring whether they leave its own king attacked. Cheap, and enough
+     * for counting mobility.
+     */
+    static int generatePseudoLegalMoves(final BitBoardPosition position, final int colour, final int[] moves) {
+        final long king = position.pieceBitBoards[colour * NUM_PIECE_TYPES + KING];
+        int count = generatePieceMoves(position, colour, FULL_BOARD, EMPTY_BOARD, 0, false, false, moves, 0);
+        if (king != 0) {
+            final int kingSquare = firstSquare(king);
+            count = addMoves(position, kingSquare, colour * NUM_PIECE_TYPES + KING,
+                    KING_ATTACKS[kingSquare] & ~position.allianceOccupancy[colour], moves, count);
+            if (!position.isSquareAttacked(kingSquare, colour ^ 1)) {
+                count = addCastleMoves(position, kingSquare, colour, moves, count);
+            }
+        }
+        return count;
+    }
+
+    // Strictly legal moves of an alliance. En passant is only possible for the side to move.
+    static int generateLegalMoves(final BitBoardPosition position, final int colour, final int[] moves) {
+        return generateLegalMoves(position, colour, false, moves);
+    }
+
+    // Strictly legal captures, en passant included, and promotions of an alliance, for quiescence search.
+    static int generateLegalCaptures(final BitBoardPosition position, final int colour, final int[] moves) {
+        return generateLegalMoves(position, colour, true, moves);
+    }
+
+    private static int generateLegalMoves(final BitBoardPosition position, final int colour,
+                                          final boolean isCapturesOnly, final int[] moves) {
+        final long king = position.pieceBitBoards[colour * NUM_PIECE_TYPES + KING];
+        if (king == 0) {
+            return generatePseudoLegalMoves(position, colour, moves);
+        }
+        final int kingSquare = firstSquare(king);
+        final long checkers = checkers(position, colour);
+        final long kingTargets = isCapturesOnly ? position.allianceOccupancy[colour ^ 1] : FULL_BOARD;
+        int count = addKingMoves(position, kingSquare, colour, kingTargets, moves, 0);
+        if (squareCount(checkers) > 1) {
+            return count;
+        }
+        final long checkMask = checkers == 0 ? FULL_BOARD :
+                checkers | MagicBitBoards.between(kingSquare, firstSquare(checkers));
+        count = generatePieceMoves(position, colour, checkMask, pinnedPieces(position, colour), kingSquare, true,
+                isCapturesOnly, moves, count);
+        if (checkers == 0 && !isCapturesOnly) {
+            count = addCastleMoves(position, kingSquare, colour, moves, count);
+        }
+        return count;
+    }
+
+    static long checkers(final BitBoardPosition position, final int colour) {
+        final long king = position.pieceBitBoards[colour * NUM_PIECE_TYPES + KING];
+        return king == 0 ? EMPTY_BOARD : position.attackersOf(firstSquare(king), colour ^ 1, position.occupancy);
+    }
+
+    // Own pieces that are the only blocker between their king and an opposing slider.
+    static long pinnedPieces(final BitBoardPosition position, final int colour) {
+        final long king = position.pieceBitBoards[colour * NUM_PIECE_TYPES + KING];
+        if (king == 0) {
+            return EMPTY_BOARD;
+        }
+        final int kingSquare = firstSquare(king);
+        final int opponentBase = (colour ^ 1) * NUM_PIECE_TYPES;
+        final long queens = position.pieceBitBoards[opponentBase + QUEEN];
+        long snipers = (MagicBitBoards.rookAttacks(kingSquare, EMPTY_BOARD) &
+                (position.pieceBitBoards[opponentBase + ROOK] | queens)) |
+                (MagicBitBoards.bishopAttacks(kingSquare, EMPTY_BOARD) &
+                        (position.pieceBitBoards[opponentBase + BISHOP] | queens));
+        long pinned = EMPTY_BOARD;
+        for (; snipers != 0; snipers &= snipers - 1) {
+            final long blockers = MagicBitBoards.between(kingSquare, firstSquare(snipers)) & position.occupancy;
+            if (blockers != 0 && (blockers & (blockers - 1)) == 0) {
+                pinned |= blockers & position.allianceOccupancy[colour];
+            }
+        }
+        return pinned;
+    }
+
+    private static int generatePieceMoves(final BitBoardPosition position, final int colour, final long checkMask,
+                                          final long pinned, final int kingSquare, final boolean isLegal,
+                                          final boolean isCapturesOnly, final int[] moves, int count) {
+        final int base = colour * NUM_PIECE_TYPES;
+        final long targets = checkMask &
+                (isCapturesOnly ? position.allianceOccupancy[colour ^ 1] : ~position.allianceOccupancy[colour]);
+        final long occupancy = position.occupancy;
+
+        // A pawn only stands on the first or last row on the half built board of a promotion
+        for (long pawns = position.pieceBitBoards[base + PAWN] & ~(ROWS[0] | ROWS[BoardUtils.NUM_TILES_PER_ROW - 1]);
+             pawns != 0; pawns &= pawns - 1) {
+            final int from = firstSquare(pawns);
+            count = addPawnMoves(position, from, colour, pinMask(pinned, kingSquare, from) & checkMask, isLegal,
+                    isCapturesOnly, moves, count);
+        }
+        for (long knights = position.pieceBitBoards[base + KNIGHT] & ~pinned; knights != 0; knights &= knights - 1) {
+            final int from = firstSquare(knights);
+            count = addMoves(position, from, base + KNIGHT, KNIGHT_ATTACKS[from] & targets, moves, count);
+        }
+        for (long bishops = position.pieceBitBoards[base + BISHOP]; bishops != 0; bishops &= bishops - 1) {
+            final int from = firstSquare(bishops);
+            count = addMoves(position, from, base + BISHOP, MagicBitBoards.bishopAttacks(from, occupancy) & targets &
+                    pinMask(pinned, kingSquare, from), moves, count);
+        }
+        for (long rooks = position.pieceBitBoards[base + ROOK]; rooks != 0; rooks &= rooks - 1) {
+            final int from = firstSquare(rooks);
+            count = addMoves(position, from, base + ROOK, MagicBitBoards.rookAttacks(from, occupancy) & targets &
+                    pinMask(pinned, kingSquare, from), moves, count);
+        }
+        for (long queens = position.pieceBitBoards[base + QUEEN]; queens != 0; queens &= queens - 1) {
+            final int from = firstSquare(queens);
+            count = addMoves(position, from, base + QUEEN, MagicBitBoards.queenAttacks(from, occupancy) & targets &
+                    pinMask(pinned, kingSquare, from), moves, count);
+        }
+        return count;
+    }
+
+    private static long pinMask(final long pinned, final int kingSquare, final int from) {
+        return isSet(pinned, from) ? MagicBitBoards.line(kingSquare, from) : FULL_BOARD;
+    }
+
+    private static int addKingMoves(final BitBoardPosition position, final int kingSquare, final int colour,
+                                    final long targetMask, final int[] moves, int count) {
+        final int king = colour * NUM_PIECE_TYPES + KING;
+        final long occupancy = position.occupancy ^ squareBit(kingSquare);
+        for (long targets = KING_ATTACKS[kingSquare] & ~position.allianceOccupancy[colour] & targetMask;
+             targets != 0; targets &= targets - 1) {
+            final int to = firstSquare(targets);
+            if (position.attackersOf(to, colour ^ 1, occupancy) == 0) {
+                moves[count++] = EncodedMove.create(kingSquare, to, king, position.squares[to], 0, EncodedMove.NORMAL);
+            }
+        }
+        return count;
+    }
+
+    private static int addPawnMoves(final BitBoardPosition position, final int from, final int colour,
+                                    final long allowed, final boolean isLegal, final boolean isCapturesOnly,
+                                    final int[] moves, int count) {
+        final int pawn = colour * NUM_PIECE_TYPES + PAWN;
+        final int forward = colour == WHITE ? -BoardUtils.NUM_TILES_PER_ROW : BoardUtils.NUM_TILES_PER_ROW;
+        final int to = from + forward;
+        // Captures only generation still takes pushes that promote
+        final boolean isPromotion = isSet(ROWS[0] | ROWS[BoardUtils.NUM_TILES_PER_ROW - 1], to);
+        if (!isSet(position.occupancy, to) && (!isCapturesOnly || isPromotion)) {
+            if (isSet(allowed, to)) {
+                count = addPawnMove(from, to, pawn, NO_PIECE, moves, count);
+            }
+            final int startRow = colour == WHITE ? 6 : 1;
+            if (!isCapturesOnly && from / BoardUtils.NUM_TILES_PER_ROW == startRow &&
+                    !isSet(position.occupancy, to + forward) && isSet(allowed, to + forward)) {
+                moves[count++] = EncodedMove.create(from, to + forward, pawn, NO_PIECE, 0, EncodedMove.PAWN_JUMP);
+            }
+        }
+        for (long captures = PAWN_ATTACKS[colour][from] & position.allianceOccupancy[colour ^ 1] & allowed;
+             captures != 0; captures &= captures - 1) {
+            final int target = firstSquare(captures);
+            count = addPawnMove(from, target, pawn, position.squares[target], moves, count);
+        }
+        final int enPassantSquare = position.enPassantSquare;
+        if (colour == position.sideToMove && enPassantSquare != NO_SQUARE &&
+                isSet(PAWN_ATTACKS[colour][from], enPassantSquare)) {
+            final int move = EncodedMove.create(from, enPassantSquare, pawn, (colour ^ 1) * NUM_PIECE_TYPES + PAWN, 0,
+                    EncodedMove.EN_PASSANT);
+            if (!isLegal || isLegalEnPassant(position, move, colour)) {
+                moves[count++] = move;
+            }
+        }
+        return count;
+    }
+
+    /*
+     * En passant takes two pieces off one row at once and can discover a check no pin test
+     * sees, so the king is checked against the board as it would look after the capture.
+     */
+    private static boolean isLegalEnPassant(final BitBoardPosition position, final int move, final int colour) {
+        final int capturedSquare = EncodedMove.getCapturedSquare(move);
+        final long occupancy = (position.occupancy ^ squareBit(EncodedMove.getFrom(move)) ^ squareBit(capturedSquare)) |
+                squareBit(EncodedMove.getTo(move));
+        final int kingSquare = firstSquare(position.pieceBitBoards[colour * NUM_PIECE_TYPES + KING]);
+        return (position.attackersOf(kingSquare, colour ^ 1, occupancy) & ~squareBit(capturedSquare)) == 0;
+    }
+
+    private static int addPawnMove(final int from, final int to, final int pawn, final int capturedPiece,
+                                   final int[] moves, int count) {
+        final int row = to / BoardUtils.NUM_TILES_PER_ROW;
+        if (row == 0 || row == BoardUtils.NUM_TILES_PER_ROW - 1) {
+            moves[count++] = EncodedMove.create(from, to, pawn, capturedPiece, QUEEN, EncodedMove.NORMAL);
+            moves[count++] = EncodedMove.create(from, to, pawn, capturedPiece, ROOK, EncodedMove.NORMAL);
+            moves[count++] = EncodedMove.create(from, to, pawn, capturedPiece, BISHOP, EncodedMove.NORMAL);
+            moves[count++] = EncodedMove.create(from, to, pawn, capturedPiece, KNIGHT, EncodedMove.NORMAL);
+        } else {
+            moves[count++] = EncodedMove.create(from, to, pawn, capturedPiece, 0, EncodedMove.NORMAL);
+        }
+        return count;
+    }
+
+    private static int addMoves(final BitBoardPosition position, final int from, final int piece,
+                                long destinations, final int[] moves, int count) {
+        for (; destinations != 0; destinations &= destinations - 1) {
+            final int to = firstSquare(destinations);
+            moves[count++] = EncodedMove.create(from, to, piece, position.squares[to], 0, EncodedMove.NORMAL);
+        }
+        return count;
+    }
+
+    // Expects the king not to be in check; the tiles the king crosses and lands on must be safe.
+    private static int addCastleMoves(final BitBoardPosition position, final int kingSquare, final int colour,
+                                      final int[] moves, int count) {
+        final int kingSide = colour == WHITE ? BoardUtils.WHITE_KING_SIDE_CASTLE : BoardUtils.BLACK_KING_SIDE_CASTLE;
+        final int queenSide = colour == WHITE ? BoardUtils.WHITE_QUEEN_SIDE_CASTLE : BoardUtils.BLACK_QUEEN_SIDE_CASTLE;
+        final int king = colour * NUM_PIECE_TYPES + KING;
+        final long kingSidePath = colour == WHITE ? WHITE_KING_SIDE_CASTLE_PATH : BLACK_KING_SIDE_CASTLE_PATH;
+        final long queenSidePath = colour == WHITE ? WHITE_QUEEN_SIDE_CASTLE_PATH : BLACK_QUEEN_SIDE_CASTLE_PATH;
+        if ((position.castlingRights & kingSide) != 0 && (position.occupancy & kingSidePath) == 0 &&
+                !position.isSquareAttacked(kingSquare + 1, colour ^ 1) &&
+                !position.isSquareAttacked(kingSquare + 2, colour ^ 1)) {
+            moves[count++] = EncodedMove.create(kingSquare, kingSquare + 2, king, NO_PIECE, 0,
+                    EncodedMove.KING_SIDE_CASTLE);
+        }
+        if ((position.castlingRights & queenSide) != 0 && (position.occupancy & queenSidePath) == 0 &&
+                !position.isSquareAttacked(kingSquare - 1, colour ^ 1) &&
+                !position.isSquareAttacked(kingSquare - 2, colour ^ 1)) {
+            moves[count++] = EncodedMove.create(kingSquare, kingSquare - 2, king, NO_PIECE, 0,
+                    EncodedMove.QUEEN_SIDE_CASTLE);
+        }
+        return count;
+    }
+}
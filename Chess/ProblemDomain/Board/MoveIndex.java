@@ -0,0 +1,71 @@
+package Chess.ProblemDomain.Board;
+
+import Chess.ProblemDomain.Piece.Piece.PieceType;
+
+import java.util.Collection;
+
+/*
+ * Open addressing table of moves keyed by from tile, destination tile and promotion type, so
+ * looking a move up costs a hash probe instead of a scan over the move list.
+ */
+public final class MoveIndex {
+
+    // 0 is never a real key, a move always changes tile
+    private static final int EMPTY_KEY = 0;
+    private static final int NO_PROMOTION = 0;
+
+    private final int[] keys;
+    private final Move[] moves;
+    private final int mask;
+
+    public MoveIndex(final Collection<Move> moves) {
+        final int capacity = Integer.highestOneBit(Math.max(moves.size(), 1) * 2) << 1;
+        this.keys = new int[capacity];
+        this.moves = new Move[capacity];
+        this.mask = capacity - 1;
+        for (final Move move : moves) {
+            int slot = slot(key(move));
+            while (this.keys[slot] != EMPTY_KEY) {
+                slot = (slot + 1) & this.mask;
+            }
+            this.keys[slot] = key(move);
+            this.moves[slot] = move;
+        }
+    }
+
+    public Move get(final int currentCoordinate, final int destinationCoordinate, final PieceType promotionType) {
+        return get(key(currentCoordinate, destinationCoordinate,
+                promotionType == null ? NO_PROMOTION : promotionType.ordinal()));
+    }
+
+    public boolean contains(final Move move) {
+        if (move.getMovePiece() == null) {
+            return false;
+        }
+        final Move indexedMove = get(key(move));
+        return indexedMove != null && indexedMove.equals(move);
+    }
+
+    private Move get(final int key) {
+        for (int slot = slot(key); this.keys[slot] != EMPTY_KEY; slot = (slot + 1) & this.mask) {
+            if (this.keys[slot] == key) {
+                return this.moves[slot];
+            }
+        }
+        return null;
+    }
+
+    private int slot(final int key) {
+        return (key * 0x9E3779B9 >>> 16) & this.mask;
+    }
+
+    private static int key(final Move move) {
+        final int promotionType = move instanceof Move.PawnPromotionMove ?
+                ((Move.PawnPromotionMove) move).promotedTo.ordinal() : NO_PROMOTION;
+        return key(move.getCurrentCoordinate(), move.getDestCoordinate(), promotionType);
+    }
+
+    private static int key(final int currentCoordinate, final int destinationCoordinate, final int promotionType) {
+        return currentCoordinate | (destinationCoordinate << 6) | (promotionType << 12);
+    }
+}
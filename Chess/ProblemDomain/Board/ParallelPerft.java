@@ -0,0 +1,226 @@
+package Chess.ProblemDomain.Board;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Perft with the subtrees spread over a ForkJoinPool. The top splitPlies plies are expanded into
+ * tasks, each holding a copy of its position, and below that every task counts its subtree
+ * sequentially on a SearchBoard kept per worker thread. Given a PerftTable, the workers share it
+ * to skip transpositions.
+ *
+ *   ParallelPerft [-threads n] [-split plies] [-nodes maxNodes] [-hash megabytes] [-baseline]
+ *
+ * runs the reference positions and checks the counts. With -baseline each depth is first run on
+ * one thread, and the speedup and scaling efficiency of the parallel run are printed.
+ */
+public final class ParallelPerft {
+
+    public static final int DEFAULT_SPLIT_PLIES = 1;
+
+    private static final long DEFAULT_MAX_NODES = 100_000_000L;
+
+    private final int parallelism;
+    private final int splitPlies;
+    private final PerftTable table;
+
+    public ParallelPerft(final int parallelism, final int splitPlies, final PerftTable table) {
+        if (parallelism < 1 || splitPlies < 1) {
+            throw new IllegalArgumentException("Parallelism and split plies must be at least 1");
+        }
+        this.parallelism = parallelism;
+        this.splitPlies = splitPlies;
+        this.table = table;
+    }
+
+    public ParallelPerft(final int parallelism, final int splitPlies) {
+        this(parallelism, splitPlies, null);
+    }
+
+    public ParallelPerft(final int parallelism) {
+        this(parallelism, DEFAULT_SPLIT_PLIES);
+    }
+
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
+    public Result perft(final Board board, final int depth) {
+        final Map<String, LongAdder> threadNodes = new ConcurrentHashMap<>();
+        final ThreadLocal<SearchBoard> searchBoards =
+                ThreadLocal.withInitial(() -> new SearchBoard(board.getPosition()));
+        final ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+        try {
+            final long startTime = System.nanoTime();
+            final long nodes = pool.invoke(new PerftTask(new BitBoardPosition(board.getPosition()), depth,
+                    this.splitPlies, this.table, searchBoards, threadNodes));
+            final long elapsed = System.nanoTime() - startTime;
+            final Map<String, Long> nodesPerThread = new TreeMap<>();
+            for (final Map.Entry<String, LongAdder> entry : threadNodes.entrySet()) {
+                nodesPerThread.put(entry.getKey(), entry.getValue().sum());
+            }
+            return new Result(nodes, elapsed, this.parallelism, nodesPerThread);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static final class PerftTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final BitBoardPosition position;
+        private final int depth;
+        private final int splitPlies;
+        private final PerftTable table;
+        private final ThreadLocal<SearchBoard> searchBoards;
+        private final Map<String, LongAdder> threadNodes;
+
+        PerftTask(final BitBoardPosition position,
+                  final int depth,
+                  final int splitPlies,
+                  final PerftTable table,
+                  final ThreadLocal<SearchBoard> searchBoards,
+                  final Map<String, LongAdder> threadNodes) {
+            this.position = position;
+            this.depth = depth;
+            this.splitPlies = splitPlies;
+            this.table = table;
+            this.searchBoards = searchBoards;
+            this.threadNodes = threadNodes;
+        }
+
+        @Override
+        protected Long compute() {
+            final SearchBoard board = this.searchBoards.get();
+            board.setPosition(this.position);
+            if (this.splitPlies == 0 || this.depth <= 1) {
+                final long nodes = this.table == null ?
+                        Perft.perft(board, this.depth) : Perft.perft(board, this.depth, this.table);
+                this.threadNodes.computeIfAbsent(Thread.currentThread().getName(), name -> new LongAdder())
+                        .add(nodes);
+                return nodes;
+            }
+            final int[] moves = board.getMoveBuffer();
+            final int numMoves = board.generateLegalMoves(moves);
+            final List<PerftTask> subtasks = new ArrayList<>(numMoves);
+            for (int i = 0; i < numMoves; i++) {
+                board.makeMove(moves[i]);
+                subtasks.add(new PerftTask(new BitBoardPosition(board), this.depth - 1, this.splitPlies - 1,
+                        this.table, this.searchBoards, this.threadNodes));
+                board.unmakeMove();
+            }
+            long nodes = 0;
+            for (final PerftTask subtask : invokeAll(subtasks)) {
+                nodes += subtask.join();
+            }
+            return nodes;
+        }
+    }
+
+    public static final class Result {
+        private final long nodes;
+        private final long elapsedNanos;
+        private final int parallelism;
+        private final Map<String, Long> nodesPerThread;
+
+        Result(final long nodes, final long elapsedNanos, final int parallelism, final Map<String, Long> nodesPerThread) {
+            this.nodes = nodes;
+            this.elapsedNanos = elapsedNanos;
+            this.parallelism = parallelism;
+            this.nodesPerThread = Collections.unmodifiableMap(nodesPerThread);
+        }
+
+        public long getNodes() {
+            return this.nodes;
+        }
+
+        public long getElapsedNanos() {
+            return this.elapsedNanos;
+        }
+
+        // Leaf nodes counted by each worker thread, keyed by thread name.
+        public Map<String, Long> getNodesPerThread() {
+            return this.nodesPerThread;
+        }
+
+        public double getSpeedup(final long sequentialNanos) {
+            return (double) sequentialNanos / Math.max(this.elapsedNanos, 1);
+        }
+
+        // Speedup over the one thread run divided by the thread count, 1.0 being perfect scaling.
+        public double getScalingEfficiency(final long sequentialNanos) {
+            return getSpeedup(sequentialNanos) / this.parallelism;
+        }
+    }
+
+    public static void main(final String[] args) {
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        int splitPlies = DEFAULT_SPLIT_PLIES;
+        long maxNodes = DEFAULT_MAX_NODES;
+        int hashMegabytes = 0;
+        boolean baseline = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-threads": parallelism = Integer.parseInt(args[++i]); break;
+                case "-split": splitPlies = Integer.parseInt(args[++i]); break;
+                case "-nodes": maxNodes = Long.parseLong(args[++i]); break;
+                case "-hash": hashMegabytes = Integer.parseInt(args[++i]); break;
+                case "-baseline": baseline = true; break;
+                default: throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        final PerftTable table = hashMegabytes > 0 ? new PerftTable(hashMegabytes) : null;
+        final ParallelPerft parallelPerft = new ParallelPerft(parallelism, splitPlies, table);
+        System.out.println("Parallelism " + parallelism + ", splitting " + splitPlies + " plies" +
+                (table == null ? "" : ", " + table.getNumEntries() + " hash entries"));
+        boolean passed = true;
+        for (final Perft.ReferencePosition position : Perft.REFERENCE_POSITIONS) {
+            System.out.println(position.getName() + "  " + position.getFen());
+            final Board board = FenUtilities.createBoardFromFEN(position.getFen());
+            for (int depth = 1; depth <= position.getMaxDepth() && position.getNodes(depth) <= maxNodes; depth++) {
+                final long expected = position.getNodes(depth);
+                long sequentialNanos = 0;
+                if (baseline) {
+                    final long startTime = System.nanoTime();
+                    if (table == null) {
+                        Perft.perft(new SearchBoard(board), depth);
+                    } else {
+                        table.clear();
+                        Perft.perft(new SearchBoard(board), depth, table);
+                    }
+                    sequentialNanos = System.nanoTime() - startTime;
+                }
+                if (table != null) {
+                    table.clear();
+                }
+                final Result result = parallelPerft.perft(board, depth);
+                final boolean matches = result.getNodes() == expected;
+                String line = "  depth " + depth + "  " + result.getNodes() + (matches ? "" : " expected " + expected) +
+                        "  " + Perft.formatRate(result.getNodes(), result.getElapsedNanos());
+                if (baseline) {
+                    line += String.format("  speedup %.2f  efficiency %.0f%%", result.getSpeedup(sequentialNanos),
+                            result.getScalingEfficiency(sequentialNanos) * 100);
+                }
+                if (table != null) {
+                    line += String.format("  hash hits %.1f%%", table.getHitRate() * 100);
+                }
+                System.out.println(line);
+                for (final Map.Entry<String, Long> entry : result.getNodesPerThread().entrySet()) {
+                    System.out.println("    " + entry.getKey() + "  " + entry.getValue());
+                }
+                passed &= matches;
+            }
+        }
+        System.out.println(passed ? "All perft counts match" : "PERFT MISMATCH");
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package Chess.ProblemDomain.Board;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+ * Counts the leaf nodes of the legal move tree to a fixed depth. The counts for the reference
+ * positions are known, so any difference is a move generation bug, and the time taken gives the
+ * generator's throughput.
+ *
+ * Large trees also check that the SearchBoard path runs without allocating. A few exchanges with
+ * a known outcome check static exchange evaluation.
+ *
+ *   Perft                      runs the reference positions up to 10 million nodes each
+ *   Perft <maxNodes>           same with another node limit
+ *   Perft divide <depth> <fen> prints the node count under every root move
+ */
+public final class Perft {
+
+    public static final ReferencePosition[] REFERENCE_POSITIONS = {
+            new ReferencePosition("Start position",
+                    "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+                    20, 400, 8902, 197281, 4865609, 119060324),
+            new ReferencePosition("Kiwipete",
+                    "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+                    48, 2039, 97862, 4085603, 193690690),
+            new ReferencePosition("Position 3",
+                    "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+                    14, 191, 2812, 43238, 674624, 11030083, 178633661),
+            new ReferencePosition("Position 4",
+                    "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+                    6, 264, 9467, 422333, 15833292),
+            new ReferencePosition("Position 5",
+                    "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",
+                    44, 1486, 62379, 2103487, 89941194),
+            new ReferencePosition("Position 6",
+                    "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+                    46, 2079, 89890, 3894594, 164075551)
+    };
+
+    private static final ExchangePosition[] EXCHANGE_POSITIONS = {
+            new ExchangePosition("4k3/8/2p5/3p4/8/8/8/3QK3 w - - 0 1", "d1d5", -800),
+            new ExchangePosition("4k3/3r4/8/3p4/8/8/3R4/3RK3 w - - 0 1", "d2d5", 100),
+            new ExchangePosition("4k3/8/2b5/3p4/4P3/8/8/4K3 w - - 0 1", "e4d5", 0),
+            new ExchangePosition("1k1r4/1pp4p/p7/4p3/8/P5P1/1PP4P/2K1R3 w - - 0 1", "e1e5", 100),
+            new ExchangePosition("1k1r3q/1ppn3p/p4b2/4p3/8/P2N2P1/1PP1R1BP/2K1Q3 w - - 0 1", "d3e5", -200),
+            // Kxd5 is not possible, Ke6 guards d5
+            new ExchangePosition("3nr3/1r1b4/1p2k3/2P1Ppp1/3Kpn1P/2P3P1/7N/R2Rq3 b - - 3 45", "f4d5", 0)
+    };
+
+    private static final long DEFAULT_MAX_NODES = 10_000_000L;
+    // Building a Board per node is slow, so the Board path is only checked on small trees.
+    private static final long BOARD_MAX_NODES = 100_000L;
+    // Past warm-up the SearchBoard path must not allocate per node, whatever the tree size.
+    private static final long ALLOCATION_CHECK_NODES = 1_000_000L;
+    private static final long MAX_ALLOCATED_BYTES = 64 * 1024;
+
+    private Perft(){
+        throw new RuntimeException("You cannot instantiate me");
+    }
+
+    // Perft through the Board/Player API the GUI plays with.
+    public static long perft(final Board board, final int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        if (depth == 1) {
+            return board.currentPlayer().getLegalMoves().size();
+        }
+        long nodes = 0;
+        for (final Move move : board.currentPlayer().getLegalMoves()) {
+            nodes += perft(board.currentPlayer().makeMove(move).getBoard(), depth - 1);
+        }
+        return nodes;
+    }
+
+    // Perft through make/unmake on a SearchBoard, the path the engine searches with.
+    public static long perft(final SearchBoard board, final int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        final int[] moves = board.getMoveBuffer();
+        final int numMoves = board.generateLegalMoves(moves);
+        if (depth == 1) {
+            return numMoves;
+        }
+        long nodes = 0;
+        for (int i = 0; i < numMoves; i++) {
+            board.makeMove(moves[i]);
+            nodes += perft(board, depth - 1);
+            board.unmakeMove();
+        }
+        return nodes;
+    }
+
+    // Perft on a SearchBoard with subtree counts cached in a table, which may be shared between threads.
+    public static long perft(final SearchBoard board, final int depth, final PerftTable table) {
+        if (depth == 0) {
+            return 1;
+        }
+        final int[] moves = board.getMoveBuffer();
+        if (depth == 1) {
+            return board.generateLegalMoves(moves);
+        }
+        final long key = board.getZobristKey();
+        final long cachedNodes = table.probe(key, depth);
+        if (cachedNodes >= 0) {
+            return cachedNodes;
+        }
+        final int numMoves = board.generateLegalMoves(moves);
+        long nodes = 0;
+        for (int i = 0; i < numMoves; i++) {
+            board.makeMove(moves[i]);
+            nodes += perft(board, depth - 1, table);
+            board.unmakeMove();
+        }
+        table.store(key, depth, nodes);
+        return nodes;
+    }
+
+    // Node count under each root move, keyed by the move in from-to notation.
+    public static Map<String, Long> divide(final Board board, final int depth) {
+        final Map<String, Long> divide = new LinkedHashMap<>();
+        final SearchBoard searchBoard = new SearchBoard(board);
+        final int[] moves = new int[SearchBoard.MAX_MOVES];
+        final int numMoves = searchBoard.generateLegalMoves(moves);
+        for (int i = 0; i < numMoves; i++) {
+            searchBoard.makeMove(moves[i]);
+            divide.put(EncodedMove.toString(moves[i]), perft(searchBoard, depth - 1));
+            searchBoard.unmakeMove();
+        }
+        return divide;
+    }
+
+    public static void main(final String[] args) {
+        if (args.length >= 3 && args[0].equals("divide")) {
+            printDivide(FenUtilities.createBoardFromFEN(args[2]), Integer.parseInt(args[1]));
+            return;
+        }
+        final long maxNodes = args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_MAX_NODES;
+        final boolean passed = runReferencePositions(maxNodes) & runExchangePositions();
+        System.out.println(passed ? "All perft checks passed" : "PERFT FAILED");
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+
+    private static void printDivide(final Board board, final int depth) {
+        final long startTime = System.nanoTime();
+        long nodes = 0;
+        for (final Map.Entry<String, Long> entry : divide(board, depth).entrySet()) {
+            System.out.println(entry.getKey() + ": " + entry.getValue());
+            nodes += entry.getValue();
+        }
+        System.out.println();
+        System.out.println("Nodes: " + nodes);
+        System.out.println(formatRate(nodes, System.nanoTime() - startTime));
+    }
+
+    private static boolean runReferencePositions(final long maxNodes) {
+        boolean passed = true;
+        for (final ReferencePosition position : REFERENCE_POSITIONS) {
+            System.out.println(position.name + "  " + position.fen);
+            final Board board = FenUtilities.createBoardFromFEN(position.fen);
+            for (int depth = 1; depth <= position.nodes.length && position.nodes[depth - 1] <= maxNodes; depth++) {
+                final long expected = position.nodes[depth - 1];
+                final SearchBoard searchBoard = new SearchBoard(board);
+                final long startTime = System.nanoTime();
+                final long allocatedBefore = allocatedBytes();
+                final long nodes = perft(searchBoard, depth);
+                final long allocated = allocatedBytes() - allocatedBefore;
+                final long elapsed = System.nanoTime() - startTime;
+                boolean matches = nodes == expected;
+                String line = "  depth " + depth + "  " + nodes + (matches ? "" : " expected " + expected) +
+                        "  " + formatRate(nodes, elapsed);
+                if (allocatedBefore >= 0 && nodes >= ALLOCATION_CHECK_NODES) {
+                    final boolean isAllocationFree = allocated <= MAX_ALLOCATED_BYTES;
+                    matches &= isAllocationFree;
+                    line += isAllocationFree ? "  allocation free" : "  allocated " + allocated + " bytes";
+                }
+                if (expected <= BOARD_MAX_NODES) {
+                    final long boardNodes = perft(board, depth);
+                    matches &= boardNodes == expected;
+                    line += boardNodes == expected ? "  board ok" : "  board " + boardNodes;
+                }
+                System.out.println(line);
+                passed &= matches;
+            }
+        }
+        return passed;
+    }
+
+    // see() must give the known value, and seeGreaterOrEqual() must agree with it on either side.
+    private static boolean runExchangePositions() {
+        boolean passed = true;
+        for (final ExchangePosition position : EXCHANGE_POSITIONS) {
+            final SearchBoard searchBoard = new SearchBoard(FenUtilities.createBoardFromFEN(position.fen));
+            final int[] moves = searchBoard.getMoveBuffer();
+            final int numMoves = searchBoard.generateLegalMoves(moves);
+            String line = "  missing";
+            boolean matches = false;
+            for (int i = 0; i < numMoves; i++) {
+                if (EncodedMove.toString(moves[i]).equals(position.move)) {
+                    final int see = searchBoard.see(moves[i]);
+                    matches = see == position.see && searchBoard.seeGreaterOrEqual(moves[i], position.see) &&
+                            !searchBoard.seeGreaterOrEqual(moves[i], position.see + 1);
+                    line = "  see " + see + (matches ? "" : " expected " + position.see);
+                }
+            }
+            System.out.println(position.move + "  " + position.fen + line);
+            passed &= matches;
+        }
+        return passed;
+    }
+
+    static String formatRate(final long nodes, final long elapsedNanos) {
+        final long millis = Math.max(elapsedNanos / 1_000_000, 1);
+        return millis + " ms  " + (nodes * 1000 / millis) + " nodes/s";
+    }
+
+    // Bytes allocated by the current thread so far, or -1 where the JVM cannot tell.
+    private static long allocatedBytes() {
+        final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (threadBean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threadBean).getThreadAllocatedBytes(
+                    Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    private static final class ExchangePosition {
+        private final String fen;
+        private final String move;
+        private final int see;
+
+        ExchangePosition(final String fen, final String move, final int see) {
+            this.fen = fen;
+            this.move = move;
+            this.see = see;
+        }
+    }
+
+    public static final class ReferencePosition {
+        private final String name;
+        private final String fen;
+        private final long[] nodes;
+
+        ReferencePosition(final String name, final String fen, final long... nodes) {
+            this.name = name;
+            this.fen = fen;
+            this.nodes = nodes;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        public String getFen() {
+            return this.fen;
+        }
+
+        // Expected leaf count at a depth, starting from depth 1.
+        public long getNodes(final int depth) {
+            return this.nodes[depth - 1];
+        }
+
+        public int getMaxDepth() {
+            return this.nodes.length;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package Chess.ProblemDomain.Board;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Fixed size cache of (Zobrist key, depth) -> leaf count for perft, shared between threads without
+ * locks. Each entry is two longs, the key xor'd with the data and the data itself. A reader only
+ * trusts an entry when the two xor back to its key, so an entry torn by two racing writers reads
+ * as a miss instead of a wrong count. Entries are always replaced.
+ */
+public final class PerftTable {
+
+    private static final int DEPTH_BITS = 8;
+    private static final long DEPTH_MASK = (1L << DEPTH_BITS) - 1;
+    private static final int LONGS_PER_ENTRY = 2;
+    private static final int BYTES_PER_ENTRY = LONGS_PER_ENTRY * Long.BYTES;
+
+    private final AtomicLongArray entries;
+    private final int mask;
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+
+    public PerftTable(final int megabytes) {
+        final long maxEntries = Math.max((long) megabytes * 1024 * 1024 / BYTES_PER_ENTRY, 1);
+        final int numEntries = (int) Long.highestOneBit(Math.min(maxEntries, 1 << 29));
+        this.entries = new AtomicLongArray(numEntries * LONGS_PER_ENTRY);
+        this.mask = numEntries - 1;
+    }
+
+    // Stored leaf count for the position at this depth, or -1 when it is not in the table.
+    public long probe(final long key, final int depth) {
+        this.probes.increment();
+        final int index = index(key);
+        final long data = this.entries.getOpaque(index + 1);
+        if ((this.entries.getOpaque(index) ^ data) != key || (data & DEPTH_MASK) != depth) {
+            return -1;
+        }
+        this.hits.increment();
+        return data >>> DEPTH_BITS;
+    }
+
+    public void store(final long key, final int depth, final long nodes) {
+        final int index = index(key);
+        final long data = (nodes << DEPTH_BITS) | depth;
+        this.entries.setOpaque(index, key ^ data);
+        this.entries.setOpaque(index + 1, data);
+    }
+
+    public int getNumEntries() {
+        return this.mask + 1;
+    }
+
+    public long getProbes() {
+        return this.probes.sum();
+    }
+
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    public double getHitRate() {
+        final long probes = getProbes();
+        return probes == 0 ? 0 : (double) getHits() / probes;
+    }
+
+    public void resetStatistics() {
+        this.probes.reset();
+        this.hits.reset();
+    }
+
+    public void clear() {
+        for (int i = 0; i < this.entries.length(); i++) {
+            this.entries.setOpaque(i, 0);
+        }
+        resetStatistics();
+    }
+
+    private int index(final long key) {
+        return ((int) key & this.mask) * LONGS_PER_ENTRY;
+    }
+}
@@ -0,0 +1,176 @@
+package Chess.ProblemDomain.Board;
+
+import Chess.ProblemDomain.Alliance;
+
+import static Chess.ProblemDomain.Board.BitBoardUtils.*;
+
+/*
+ * Mutable position for the search. Moves are played and taken back in place, with the state
+ * a move cannot restore by itself kept on an undo stack, so a search never builds a Board.
+ * Moves are passed around in the EncodedMove format.
+ */
+public class SearchBoard extends BitBoardPosition {
+
+    public static final int MAX_PLY = 128;
+    public static final int MAX_MOVES = 256;
+
+    private final int[] moveHistory = new int[MAX_PLY];
+    private final int[] castlingRightsHistory = new int[MAX_PLY];
+    private final int[] enPassantSquareHistory = new int[MAX_PLY];
+    private final long[] zobristKeyHistory = new long[MAX_PLY];
+    private int ply;
+
+    // One move list per ply, so searching never allocates.
+    private final int[][] moveBuffers = new int[MAX_PLY + 1][MAX_MOVES];
+
+    public SearchBoard(final Board board) {
+        super(board.getPosition());
+    }
+
+    SearchBoard(final BitBoardPosition position) {
+        super(position);
+    }
+
+    // Replaces the position in place and clears the undo stack, so a board can be reused.
+    void setPosition(final BitBoardPosition position) {
+        copyFrom(position);
+        this.ply = 0;
+    }
+
+    public int getPly() {
+        return this.ply;
+    }
+
+    // The move that led to the current position, NULL_MOVE at the root.
+    public int getLastMove() {
+        return this.ply == 0 ? EncodedMove.NULL_MOVE : this.moveHistory[this.ply - 1];
+    }
+
+    /*
+     * Move list owned by the current ply. A search node generates into it and can keep
+     * iterating it while deeper plies use their own.
+     */
+    public int[] getMoveBuffer() {
+        return this.moveBuffers[this.ply];
+    }
+
+    public void makeMove(final int move) {
+        final int from = EncodedMove.getFrom(move);
+        final int to = EncodedMove.getTo(move);
+        final int movedPiece = EncodedMove.getMovedPiece(move);
+        final int capturedPiece = EncodedMove.getCapturedPiece(move);
+        final int promotionType = EncodedMove.getPromotionType(move);
+        final int flag = EncodedMove.getFlag(move);
+
+        this.moveHistory[this.ply] = move;
+        this.castlingRightsHistory[this.ply] = this.castlingRights;
+        this.enPassantSquareHistory[this.ply] = this.enPassantSquare;
+        this.zobristKeyHistory[this.ply] = this.zobristKey;
+        this.ply++;
+
+        long key = this.zobristKey ^ Zobrist.castlingKey(this.castlingRights) ^ Zobrist.blackToMoveKey();
+        if (this.enPassantSquare != NO_SQUARE) {
+            key ^= Zobrist.enPassantKey(this.enPassantSquare % BoardUtils.NUM_TILES_PER_ROW);
+        }
+
+        if (capturedPiece != NO_PIECE) {
+            final int capturedSquare = EncodedMove.getCapturedSquare(move);
+            removePiece(capturedSquare);
+            key ^= Zobrist.pieceKey(capturedPiece, capturedSquare);
+        }
+
+        final int placedPiece = promotionType == 0 ? movedPiece : movedPiece - PAWN + promotionType;
+        removePiece(from);
+        addPiece(placedPiece, to);
+        key ^= Zobrist.pieceKey(movedPiece, from) ^ Zobrist.pieceKey(placedPiece, to);
+
+        this.enPassantSquare = NO_SQUARE;
+        if (flag == EncodedMove.PAWN_JUMP) {
+            this.enPassantSquare = (from + to) / 2;
+            key ^= Zobrist.enPassantKey(this.enPassantSquare % BoardUtils.NUM_TILES_PER_ROW);
+        } else if (flag == EncodedMove.KING_SIDE_CASTLE || flag == EncodedMove.QUEEN_SIDE_CASTLE) {
+            final int rookFrom = flag == EncodedMove.KING_SIDE_CASTLE ? from + 3 : from - 4;
+            final int rookTo = flag == EncodedMove.KING_SIDE_CASTLE ? from + 1 : from - 1;
+            final int rook = this.squares[rookFrom];
+            removePiece(rookFrom);
+            addPiece(rook, rookTo);
+            key ^= Zobrist.pieceKey(rook, rookFrom) ^ Zobrist.pieceKey(rook, rookTo);
+        }
+
+        this.castlingRights &= BoardUtils.CASTLING_RIGHTS_MASK[from] & BoardUtils.CASTLING_RIGHTS_MASK[to];
+        this.sideToMove ^= 1;
+        this.zobristKey = key ^ Zobrist.castlingKey(this.castlingRights);
+    }
+
+    public void unmakeMove() {
+        this.ply--;
+        final int move = this.moveHistory[this.ply];
+        final int from = EncodedMove.getFrom(move);
+        final int to = EncodedMove.getTo(move);
+        final int capturedPiece = EncodedMove.getCapturedPiece(move);
+        final int flag = EncodedMove.getFlag(move);
+
+        this.sideToMove ^= 1;
+        this.castlingRights = this.castlingRightsHistory[this.ply];
+        this.enPassantSquare = this.enPassantSquareHistory[this.ply];
+        this.zobristKey = this.zobristKeyHistory[this.ply];
+
+        removePiece(to);
+        addPiece(EncodedMove.getMovedPiece(move), from);
+
+        if (flag == EncodedMove.KING_SIDE_CASTLE || flag == EncodedMove.QUEEN_SIDE_CASTLE) {
+            final int rookFrom = flag == EncodedMove.KING_SIDE_CASTLE ? from + 3 : from - 4;
+            final int rookTo = flag == EncodedMove.KING_SIDE_CASTLE ? from + 1 : from - 1;
+            final int rook = this.squares[rookTo];
+            removePiece(rookTo);
+            addPiece(rook, rookFrom);
+        }
+
+        if (capturedPiece != NO_PIECE) {
+            addPiece(capturedPiece, EncodedMove.getCapturedSquare(move));
+        }
+    }
+
+    // Writes the legal moves of the side to move into the array and returns how many there are.
+    public int generateLegalMoves(final int[] moves) {
+        return MoveGenerator.generateLegalMoves(this, this.sideToMove, moves);
+    }
+
+    // Legal captures and promotions of the side to move, the moves a quiescence search looks at.
+    public int generateLegalCaptures(final int[] moves) {
+        return MoveGenerator.generateLegalCaptures(this, this.sideToMove, moves);
+    }
+
+    /*
+     * Tiles the pieces of an alliance attack that are not taken by its own pieces, counting pawns
+     * by their single pushes and captures. Close to the pseudo legal move count, but read off the
+     * attack sets without generating any moves, so an evaluation can afford it at every node.
+     */
+    public int countMobility(final Alliance alliance) {
+        final int colour = alliance.ordinal();
+        final int base = colour * NUM_PIECE_TYPES;
+        final long notOwn = ~this.allianceOccupancy[colour];
+        final long pawns = this.pieceBitBoards[base + PAWN];
+        // White pawns move towards tile 0, black pawns towards tile 63
+        final long pushes = colour == WHITE ?
+                pawns >>> BoardUtils.NUM_TILES_PER_ROW : pawns << BoardUtils.NUM_TILES_PER_ROW;
+        int mobility = Long.bitCount(pushes & ~this.occupancy);
+        for (long pieces = pawns; pieces != 0; pieces &= pieces - 1) {
+            mobility += Long.bitCount(PAWN_ATTACKS[colour][firstSquare(pieces)] & this.allianceOccupancy[colour ^ 1]);
+        }
+        for (long pieces = this.pieceBitBoards[base + KNIGHT]; pieces != 0; pieces &= pieces - 1) {
+            mobility += Long.bitCount(KNIGHT_ATTACKS[firstSquare(pieces)] & notOwn);
+        }
+        final long queens = this.pieceBitBoards[base + QUEEN];
+        for (long pieces = this.pieceBitBoards[base + BISHOP] | queens; pieces != 0; pieces &= pieces - 1) {
+            mobility += Long.bitCount(MagicBitBoards.bishopAttacks(firstSquare(pieces), this.occupancy) & notOwn);
+        }
+        for (long pieces = this.pieceBitBoards[base + ROOK] | queens; pieces != 0; pieces &= pieces - 1) {
+            mobility += Long.bitCount(MagicBitBoards.rookAttacks(firstSquare(pieces), this.occupancy) & notOwn);
+        }
+        for (long pieces = this.pieceBitBoards[base + KING]; pieces != 0; pieces &= pieces - 1) {
+            mobility += Long.bitCount(KING_ATTACKS[firstSquare(pieces)] & notOwn);
+        }
+        return mobility;
+    }
+}
@@ -2,29 +2,25 @@ package Chess.ProblemDomain.Board;
 
 import Chess.ProblemDomain.Piece.Piece;
 
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
-
 public abstract class Tile {
 
     protected final int tileCoordinates;
 
-    private static final Map<Integer, EmptyTile> EMPTY_TILES_CACHE = createAllPossibleEmptyTiles();
+    private static final EmptyTile[] EMPTY_TILES_CACHE = createAllPossibleEmptyTiles();
 
-    private static Map<Integer, EmptyTile> createAllPossibleEmptyTiles(){
-        final Map<Integer, EmptyTile> emptyTileMap = new HashMap<>();
+    private static EmptyTile[] createAllPossibleEmptyTiles(){
+        final EmptyTile[] emptyTiles = new EmptyTile[BoardUtils.NUM_TILES];
 
-        for (int i = 0; i < 64; i++){
-            emptyTileMap.put(i, new EmptyTile(i));
+        for (int i = 0; i < BoardUtils.NUM_TILES; i++){
+            emptyTiles[i] = new EmptyTile(i);
         }
 
-        return Collections.unmodifiableMap(emptyTileMap); //Not Immutable
+        return emptyTiles;
     }
 
     public static Tile createTile(final int tileCoordinates, final Piece piece){
         if (piece == null){
-            return EMPTY_TILES_CACHE.get(tileCoordinates);
+            return EMPTY_TILES_CACHE[tileCoordinates];
         } else {
             return new OccupiedTile(tileCoordinates, piece);
         }
@@ -0,0 +1,72 @@
+package Chess.ProblemDomain.Board;
+
+import Chess.ProblemDomain.Alliance;
+
+import java.util.SplittableRandom;
+
+public class Zobrist {
+
+    private static final long[][] PIECE_KEYS = new long[BitBoardUtils.NUM_PIECE_INDICES][BoardUtils.NUM_TILES];
+    private static final long[] CASTLING_KEYS = new long[16];
+    private static final long[] EN_PASSANT_KEYS = new long[BoardUtils.NUM_TILES_PER_ROW];
+    private static final long BLACK_TO_MOVE_KEY;
+
+    static {
+        // A fixed seed keeps keys identical between runs, so stored hashes stay meaningful.
+        final SplittableRandom random = new SplittableRandom(0x2545F4914F6CDD1DL);
+        for (final long[] pieceKeys : PIECE_KEYS) {
+            for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+                pieceKeys[square] = random.nextLong();
+            }
+        }
+        for (int rights = 1; rights < CASTLING_KEYS.length; rights++) {
+            CASTLING_KEYS[rights] = random.nextLong();
+        }
+        for (int file = 0; file < EN_PASSANT_KEYS.length; file++) {
+            EN_PASSANT_KEYS[file] = random.nextLong();
+        }
+        BLACK_TO_MOVE_KEY = random.nextLong();
+    }
+
+    private Zobrist(){
+        throw new RuntimeException("You cannot instantiate me");
+    }
+
+    public static long pieceKey(final int pieceIndex, final int square) {
+        return PIECE_KEYS[pieceIndex][square];
+    }
+
+    public static long castlingKey(final int castlingRights) {
+        return CASTLING_KEYS[castlingRights];
+    }
+
+    public static long enPassantKey(final int file) {
+        return EN_PASSANT_KEYS[file];
+    }
+
+    // Key of an en passant tile, nothing when there is none.
+    public static long enPassantSquareKey(final int enPassantSquare) {
+        return enPassantSquare == BitBoardPosition.NO_SQUARE ? 0L :
+                EN_PASSANT_KEYS[enPassantSquare % BoardUtils.NUM_TILES_PER_ROW];
+    }
+
+    public static long blackToMoveKey() {
+        return BLACK_TO_MOVE_KEY;
+    }
+
+    static long calculateZobristKey(final BitBoardPosition position) {
+        long zobristKey = 0;
+        for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+            if (position.squares[square] != BitBoardPosition.NO_PIECE) {
+                zobristKey ^= pieceKey(position.squares[square], square);
+            }
+        }
+        if (position.sideToMove == Alliance.BLACK.ordinal()) {
+            zobristKey ^= BLACK_TO_MOVE_KEY;
+        }
+        if (position.enPassantSquare != BitBoardPosition.NO_SQUARE) {
+            zobristKey ^= enPassantKey(position.enPassantSquare % BoardUtils.NUM_TILES_PER_ROW);
+        }
+        return zobristKey ^ castlingKey(position.castlingRights);
+    }
+}
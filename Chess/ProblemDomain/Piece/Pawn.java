@@ -1,6 +1,7 @@
 package Chess.ProblemDomain.Piece;
 
 import Chess.ProblemDomain.Alliance;
+import Chess.ProblemDomain.Board.BitBoardUtils;
 import Chess.ProblemDomain.Board.Board;
 import Chess.ProblemDomain.Board.BoardUtils;
 import Chess.ProblemDomain.Board.Move;
@@ -12,17 +13,16 @@ import java.util.Collections;
 import java.util.List;
 
 public class Pawn extends Piece{
-    private final static int[] CANDIDATE_MOVE_COORDINATE = {7, 8, 9, 16};
     private final static PieceType[] CANDIDATE_PAWN_PROMOTIONS = {PieceType.QUEEN, PieceType.ROOK,
             PieceType.BISHOP, PieceType.KNIGHT};
 
-    public Pawn(final int piecePosition, final Alliance pieceAlliance) {
-        super(piecePosition, pieceAlliance, PieceType.PAWN);
+    Pawn(final int piecePosition, final Alliance pieceAlliance, final boolean isFirstMove) {
+        super(piecePosition, pieceAlliance, PieceType.PAWN, isFirstMove);
     }
 
     @Override
     public Pawn movePiece(Move move) {
-        return new Pawn(move.getDestCoordinate(), move.getMovePiece().getPieceAlliance());
+        return (Pawn) PieceCache.get(PieceType.PAWN, this.pieceAlliance, move.getDestCoordinate(), false);
     }
 
     @Override
@@ -33,94 +33,55 @@ public class Pawn extends Piece{
     @Override
     public List<Move> calculateLegalMoves(Board board) {
         final List<Move> legalMoves = new ArrayList<>();
+        final int direction = this.pieceAlliance.getDirection();
 
-        for(final int currentCandidateOffset: CANDIDATE_MOVE_COORDINATE) {
+        final int candidateDestCoordinate = this.piecePosition + (8 * direction);
+        if (BoardUtils.isValidTileCoordinate(candidateDestCoordinate) &&
+                !BitBoardUtils.isSet(board.getOccupancy(), candidateDestCoordinate)) {
+            addPawnMoves(legalMoves, new Move.PawnMove(board, this, candidateDestCoordinate));
 
-            final int candidateDestCoordinate = this.piecePosition + (currentCandidateOffset * this.getPieceAlliance().getDirection());
-            if (BoardUtils.isValidTileCoordinate(candidateDestCoordinate)) {
-
-                if ((currentCandidateOffset == 8) && !board.getTile(candidateDestCoordinate).isTileOccupied()) {
-                    if (this.pieceAlliance.isPawnPromotionSquare(candidateDestCoordinate)) {
-                        for(final PieceType promotedTo : CANDIDATE_PAWN_PROMOTIONS) {
-                            legalMoves.add(new PawnPromotionMove(new Move.PawnMove(board, this, candidateDestCoordinate), promotedTo));
-                        }
-                    } else {
-                        legalMoves.add(new Move.PawnMove(board, this, candidateDestCoordinate));
-                    }
-
-                }
-
-                if ((currentCandidateOffset == 16) && this.isFirstMove()
-                        && ((BoardUtils.SEVENTH_RANK[this.piecePosition] && this.pieceAlliance.isBlack())
-                        || (BoardUtils.SECOND_RANK[this.piecePosition] && this.pieceAlliance.isWhite()))) {
-
-                    final int behindDestCoordinate = candidateDestCoordinate - (8 * this.pieceAlliance.getDirection());
-                    if (!board.getTile(behindDestCoordinate).isTileOccupied() &&
-                            !board.getTile(candidateDestCoordinate).isTileOccupied()) {
-                        legalMoves.add(new Move.PawnJump(board, this, candidateDestCoordinate));
-                    }
-
-                }
-
-                if ((currentCandidateOffset == 7) &&
-                        !((BoardUtils.EIGHTH_COLUMN[this.piecePosition] && this.pieceAlliance.isWhite()) ||
-                                (BoardUtils.FIRST_COLUMN[this.piecePosition] && this.pieceAlliance.isBlack()))) {
-                    if (board.getTile(candidateDestCoordinate).isTileOccupied() &&
-                            (board.getTile(candidateDestCoordinate).getPiece().getPieceAlliance() != this.pieceAlliance)) {
-
-                        if (this.pieceAlliance.isPawnPromotionSquare(candidateDestCoordinate)) {
-                            for(final PieceType promotedTo : CANDIDATE_PAWN_PROMOTIONS) {
-                                legalMoves.add(new PawnPromotionMove(new Move.PawnAttackMove(board, this, candidateDestCoordinate,
-                                        board.getTile(candidateDestCoordinate).getPiece()), promotedTo));
-                            }
-                        } else {
-                            legalMoves.add(new Move.PawnAttackMove(board, this, candidateDestCoordinate,
-                                    board.getTile(candidateDestCoordinate).getPiece()));
-                        }
+            final int jumpDestCoordinate = candidateDestCoordinate + (8 * direction);
+            if (this.isFirstMove() && isOnStartingRank() &&
+                    !BitBoardUtils.isSet(board.getOccupancy(), jumpDestCoordinate)) {
+                legalMoves.add(new Move.PawnJump(board, this, jumpDestCoordinate));
+            }
+        }
 
-                    } else if (!board.getTile(candidateDestCoordinate).isTileOccupied() && board.getEnPassantPawn() != null) {
-                        final Pawn pieceOnCandidate = board.getEnPassantPawn();
-                        if (pieceOnCandidate.getPiecePosition() == this.piecePosition - (this.pieceAlliance.getDirection())) {
-                            legalMoves.add(new PawnEnPassantAttackMove(board, this, candidateDestCoordinate, pieceOnCandidate));
-                        }
-                    }
-                }
-                if ((currentCandidateOffset == 9) &&
-                        !((BoardUtils.EIGHTH_COLUMN[this.piecePosition] && this.pieceAlliance.isBlack()) ||
-                                (BoardUtils.FIRST_COLUMN[this.piecePosition] && this.pieceAlliance.isWhite()))) {
-                    if (board.getTile(candidateDestCoordinate).isTileOccupied() &&
-                            (board.getTile(candidateDestCoordinate).getPiece().getPieceAlliance() != this.pieceAlliance)) {
-                        if (this.pieceAlliance.isPawnPromotionSquare(candidateDestCoordinate)) {
-                            for(final PieceType promotedTo : CANDIDATE_PAWN_PROMOTIONS) {
-                                legalMoves.add(new PawnPromotionMove(new Move.PawnAttackMove(board, this, candidateDestCoordinate,
-                                        board.getTile(candidateDestCoordinate).getPiece()), promotedTo));
-                            }
-                        } else {
-                            legalMoves.add(new Move.PawnAttackMove(board, this, candidateDestCoordinate,
-                                    board.getTile(candidateDestCoordinate).getPiece()));
-                        }
+        final long attacks = BitBoardUtils.PAWN_ATTACKS[this.pieceAlliance.ordinal()][this.piecePosition];
+        for (long captures = attacks & board.getAllianceOccupancy(this.pieceAlliance.opponent());
+             captures != 0; captures &= captures - 1) {
+            final int attackDestCoordinate = BitBoardUtils.firstSquare(captures);
+            addPawnMoves(legalMoves, new Move.PawnAttackMove(board, this, attackDestCoordinate,
+                    board.getPiece(attackDestCoordinate)));
+        }
 
-                    } else if (!board.getTile(candidateDestCoordinate).isTileOccupied() && board.getEnPassantPawn() != null) {
-                        final Pawn pieceOnCandidate = board.getEnPassantPawn();
-                        if (pieceOnCandidate.getPiecePosition() == this.piecePosition + (this.pieceAlliance.getDirection())) {
-                            legalMoves.add(new PawnEnPassantAttackMove(board, this, candidateDestCoordinate, pieceOnCandidate));
-                        }
-                    }
-                }
+        final Pawn enPassantPawn = board.getEnPassantPawn();
+        if (enPassantPawn != null && enPassantPawn.getPieceAlliance() != this.pieceAlliance) {
+            final int enPassantDestCoordinate = enPassantPawn.getPiecePosition() -
+                    (8 * enPassantPawn.getPieceAlliance().getDirection());
+            if (BitBoardUtils.isSet(attacks, enPassantDestCoordinate)) {
+                legalMoves.add(new PawnEnPassantAttackMove(board, this, enPassantDestCoordinate, enPassantPawn));
             }
         }
         return Collections.unmodifiableList(legalMoves);
     }
 
-    public Piece getPromotionPiece(PieceType promotedTo) {
-        if (promotedTo == PieceType.QUEEN) {
-            return new Queen(this.piecePosition, this.pieceAlliance,  false);
-        } else if (promotedTo == PieceType.ROOK) {
-            return new Rook(this.piecePosition, this.pieceAlliance,  false);
-        } else if (promotedTo == PieceType.BISHOP) {
-            return new Bishop(this.piecePosition, this.pieceAlliance,  false);
+    private void addPawnMoves(final List<Move> legalMoves, final Move pawnMove) {
+        if (this.pieceAlliance.isPawnPromotionSquare(pawnMove.getDestCoordinate())) {
+            for(final PieceType promotedTo : CANDIDATE_PAWN_PROMOTIONS) {
+                legalMoves.add(new PawnPromotionMove(pawnMove, promotedTo));
+            }
         } else {
-            return new Knight(this.piecePosition, this.pieceAlliance,  false);
+            legalMoves.add(pawnMove);
         }
     }
+
+    private boolean isOnStartingRank() {
+        return (BoardUtils.SEVENTH_RANK[this.piecePosition] && this.pieceAlliance.isBlack()) ||
+                (BoardUtils.SECOND_RANK[this.piecePosition] && this.pieceAlliance.isWhite());
+    }
+
+    public Piece getPromotionPiece(PieceType promotedTo) {
+        return PieceCache.get(promotedTo, this.pieceAlliance, this.piecePosition, false);
+    }
 }
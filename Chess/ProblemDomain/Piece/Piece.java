@@ -1,10 +1,13 @@
 package Chess.ProblemDomain.Piece;
 
 import Chess.ProblemDomain.Alliance;
+import Chess.ProblemDomain.Board.BitBoardUtils;
 import Chess.ProblemDomain.Board.Board;
 import Chess.ProblemDomain.Board.Move;
 
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public abstract class Piece {
@@ -20,20 +23,13 @@ public abstract class Piece {
 
 
 
-    public Piece(final int piecePosition, final Alliance pieceAlliance, PieceType pieceType) {
+    // Only PieceCache makes pieces, so there is exactly one instance of each.
+    Piece(final int piecePosition, final Alliance pieceAlliance, PieceType pieceType, boolean isFirstMove) {
         this.piecePosition = piecePosition;
         this.pieceAlliance = pieceAlliance;
         this.pieceType = pieceType;
-        this.cachedHashCode = computeHashCode();
-        this.isFirstMove = true;
-    }
-
-    public Piece(final int piecePosition, final Alliance pieceAlliance, PieceType pieceType, boolean isFirstMove) {
-        this.piecePosition = piecePosition;
-        this.pieceAlliance = pieceAlliance;
-        this.pieceType = pieceType;
-        this.cachedHashCode = computeHashCode();
         this.isFirstMove = isFirstMove;
+        this.cachedHashCode = computeHashCode();
     }
 
     private int computeHashCode() {
@@ -46,14 +42,7 @@ public abstract class Piece {
 
     @Override
     public boolean equals(final Object other){
-        if(this == other){
-            return true;
-        }else if (!(other instanceof Piece)){
-            return false;
-        }
-        final Piece otherPiece = (Piece) other;
-        return piecePosition == otherPiece.getPiecePosition() && pieceType == otherPiece.getPieceType() &&
-                pieceAlliance == otherPiece.getPieceAlliance() && isFirstMove == otherPiece.isFirstMove();
+        return this == other;
     }
 
 
@@ -78,6 +67,22 @@ public abstract class Piece {
 
     public abstract Piece movePiece(Move move);
 
+    protected List<Move> calculateMajorMoves(final Board board, final long destinations) {
+        final List<Move> legalMoves = new ArrayList<>();
+        final long opponentPieces = board.getAllianceOccupancy(this.pieceAlliance.opponent());
+
+        for (long remaining = destinations; remaining != 0; remaining &= remaining - 1) {
+            final int candidateDestCoordinate = BitBoardUtils.firstSquare(remaining);
+            if (BitBoardUtils.isSet(opponentPieces, candidateDestCoordinate)) {
+                legalMoves.add(new Move.MajorAttackMove(board, this, candidateDestCoordinate,
+                        board.getPiece(candidateDestCoordinate)));
+            } else {
+                legalMoves.add(new Move.MajorMove(board, this, candidateDestCoordinate));
+            }
+        }
+        return Collections.unmodifiableList(legalMoves);
+    }
+
     public int getPieceValue(){
         return this.pieceType.pieceValue();
     }
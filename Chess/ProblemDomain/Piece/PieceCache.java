@@ -0,0 +1,72 @@
+package Chess.ProblemDomain.Piece;
+
+import Chess.ProblemDomain.Alliance;
+import Chess.ProblemDomain.Board.BoardUtils;
+import Chess.ProblemDomain.Piece.Piece.PieceType;
+
+/*
+ * Pieces are immutable and there are only type x alliance x tile x first move of them, so every
+ * one is made up front and shared. Moving or promoting a piece looks up the canonical instance
+ * instead of allocating, which also lets Piece.equals compare identity.
+ */
+public final class PieceCache {
+
+    private static final int NUM_PIECE_TYPES = PieceType.values().length;
+    private static final int NUM_ALLIANCES = Alliance.values().length;
+
+    private static final Piece[] PIECES = createAllPieces();
+
+    private PieceCache(){
+        throw new RuntimeException("You cannot instantiate me");
+    }
+
+    public static Piece get(final PieceType pieceType, final Alliance alliance, final int piecePosition,
+                            final boolean isFirstMove) {
+        return PIECES[index(pieceType, alliance, piecePosition, isFirstMove)];
+    }
+
+    // The piece as it stands before it has moved.
+    public static Piece get(final PieceType pieceType, final Alliance alliance, final int piecePosition) {
+        return get(pieceType, alliance, piecePosition, true);
+    }
+
+    private static int index(final PieceType pieceType, final Alliance alliance, final int piecePosition,
+                             final boolean isFirstMove) {
+        final int piece = (isFirstMove ? NUM_ALLIANCES * NUM_PIECE_TYPES : 0) +
+                alliance.ordinal() * NUM_PIECE_TYPES + pieceType.ordinal();
+        return piece * BoardUtils.NUM_TILES + piecePosition;
+    }
+
+    private static Piece[] createAllPieces() {
+        final Piece[] pieces = new Piece[2 * NUM_ALLIANCES * NUM_PIECE_TYPES * BoardUtils.NUM_TILES];
+        for (final PieceType pieceType : PieceType.values()) {
+            for (final Alliance alliance : Alliance.values()) {
+                for (int position = 0; position < BoardUtils.NUM_TILES; position++) {
+                    pieces[index(pieceType, alliance, position, true)] =
+                            createPiece(pieceType, alliance, position, true);
+                    pieces[index(pieceType, alliance, position, false)] =
+                            createPiece(pieceType, alliance, position, false);
+                }
+            }
+        }
+        return pieces;
+    }
+
+    private static Piece createPiece(final PieceType pieceType, final Alliance alliance, final int position,
+                                     final boolean isFirstMove) {
+        switch (pieceType) {
+            case PAWN:
+                return new Pawn(position, alliance, isFirstMove);
+            case KNIGHT:
+                return new Knight(position, alliance, isFirstMove);
+            case BISHOP:
+                return new Bishop(position, alliance, isFirstMove);
+            case ROOK:
+                return new Rook(position, alliance, isFirstMove);
+            case QUEEN:
+                return new Queen(position, alliance, isFirstMove);
+            default:
+                return new King(position, alliance, isFirstMove);
+        }
+    }
+}
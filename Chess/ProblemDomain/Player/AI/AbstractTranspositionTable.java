@@ -0,0 +1,143 @@
+package Chess.ProblemDomain.Player.AI;
+
+import Chess.ProblemDomain.Board.EncodedMove;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Bucket layout and replacement policy shared by the transposition tables, which differ only in
+ * where their longs live. Each slot is two longs, the key xor'd with the entry and the entry
+ * itself, and a probe only accepts a slot whose two halves xor back to its key. Slots are read
+ * and written without locks, a slot torn by racing writers then reads as a miss instead of a wrong
+ * result.
+ *
+ * Buckets hold two slots. The first keeps the deepest entry of the current search and the second
+ * takes whatever the first turns away, so deep results survive and fresh ones still get stored.
+ */
+public abstract class AbstractTranspositionTable implements TranspositionTable {
+
+    protected static final int SLOTS_PER_BUCKET = 2;
+    protected static final int LONGS_PER_SLOT = 2;
+    protected static final int LONGS_PER_BUCKET = SLOTS_PER_BUCKET * LONGS_PER_SLOT;
+    protected static final int BYTES_PER_BUCKET = LONGS_PER_BUCKET * Long.BYTES;
+
+    private final long bucketMask;
+    private volatile int generation;
+
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder collisions = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+
+    protected AbstractTranspositionTable(final long numBuckets) {
+        this.bucketMask = numBuckets - 1;
+    }
+
+    // Largest power of two number of buckets that fits in the given size, capped at maxBuckets.
+    protected static long numBuckets(final long megabytes, final long maxBuckets) {
+        final long buckets = Math.max(megabytes * 1024 * 1024 / BYTES_PER_BUCKET, 1);
+        return Long.highestOneBit(Math.min(buckets, maxBuckets));
+    }
+
+    protected abstract long getLong(long index);
+
+    protected abstract void setLong(long index, long value);
+
+    @Override
+    public long probe(final long key) {
+        this.probes.increment();
+        final long bucket = bucket(key);
+        boolean isBucketFull = true;
+        for (long slot = bucket; slot < bucket + LONGS_PER_BUCKET; slot += LONGS_PER_SLOT) {
+            final long entry = getLong(slot + 1);
+            if ((getLong(slot) ^ entry) == key && entry != TranspositionEntry.NO_ENTRY) {
+                this.hits.increment();
+                return entry;
+            }
+            isBucketFull &= entry != TranspositionEntry.NO_ENTRY;
+        }
+        if (isBucketFull) {
+            this.collisions.increment();
+        }
+        return TranspositionEntry.NO_ENTRY;
+    }
+
+    @Override
+    public void store(final long key, final int move, final int score, final int depth, final int bound) {
+        this.stores.increment();
+        final long bucket = bucket(key);
+        final int generation = this.generation;
+        long entry = TranspositionEntry.create(move, score, depth, bound, generation);
+
+        final long deepEntry = getLong(bucket + 1);
+        final boolean isDeepSlotSameKey = (getLong(bucket) ^ deepEntry) == key;
+        final long freshEntry = getLong(bucket + 3);
+        final boolean isFreshSlotSameKey = (getLong(bucket + 2) ^ freshEntry) == key;
+
+        final long slot;
+        final long previousEntry;
+        if (isDeepSlotSameKey || deepEntry == TranspositionEntry.NO_ENTRY ||
+                TranspositionEntry.getGeneration(deepEntry) != generation ||
+                depth >= TranspositionEntry.getDepth(deepEntry)) {
+            slot = bucket;
+            previousEntry = isDeepSlotSameKey ? deepEntry : TranspositionEntry.NO_ENTRY;
+        } else {
+            slot = bucket + LONGS_PER_SLOT;
+            previousEntry = isFreshSlotSameKey ? freshEntry : TranspositionEntry.NO_ENTRY;
+        }
+        if (move == EncodedMove.NULL_MOVE && previousEntry != TranspositionEntry.NO_ENTRY) {
+            entry = TranspositionEntry.withMove(entry, TranspositionEntry.getMove(previousEntry));
+        }
+        setLong(slot, key ^ entry);
+        setLong(slot + 1, entry);
+    }
+
+    @Override
+    public void newSearch() {
+        this.generation = (this.generation + 1) & 0xFF;
+    }
+
+    @Override
+    public void clear() {
+        final long numLongs = getNumBuckets() * LONGS_PER_BUCKET;
+        for (long i = 0; i < numLongs; i++) {
+            setLong(i, 0);
+        }
+        this.probes.reset();
+        this.hits.reset();
+        this.collisions.reset();
+        this.stores.reset();
+    }
+
+    public long getNumBuckets() {
+        return this.bucketMask + 1;
+    }
+
+    public long getNumEntries() {
+        return getNumBuckets() * SLOTS_PER_BUCKET;
+    }
+
+    @Override
+    public long getProbes() {
+        return this.probes.sum();
+    }
+
+    @Override
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    @Override
+    public long getCollisions() {
+        return this.collisions.sum();
+    }
+
+    @Override
+    public long getStores() {
+        return this.stores.sum();
+    }
+
+    private long bucket(final long key) {
+        return (key & this.bucketMask) * LONGS_PER_BUCKET;
+    }
+}
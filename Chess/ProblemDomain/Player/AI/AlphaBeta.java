@@ -0,0 +1,300 @@
+package Chess.ProblemDomain.Player.AI;
+
+import Chess.ProblemDomain.Board.Board;
+import Chess.ProblemDomain.Board.EncodedMove;
+import Chess.ProblemDomain.Board.Move;
+import Chess.ProblemDomain.Board.SearchBoard;
+import Chess.ProblemDomain.Piece.Piece.PieceType;
+
+/*
+ * Negamax search with full (alpha, beta) windows. Scores are from the side to move's point of
+ * view and fail soft, so a node returns its best score even when that lies outside the window.
+ * Being mated scores -MATE_SCORE plus the ply it happens at, so the search plays the fastest mate
+ * and the slowest loss.
+ *
+ * Given a TranspositionTable, every node searched to a depth stores its score, bound and best
+ * move. A later visit to the same position at no greater depth takes the stored score when its
+ * bound settles the window, and otherwise searches the stored move first.
+ *
+ * Moves are searched in the order the MoveOrderer gives them.
+ *
+ * At depth 0 a quiescence search takes over and plays out captures and promotions until the
+ * position is quiet, so a leaf is never scored with a piece hanging. The side to move may stand
+ * pat on the static evaluation instead of capturing, and captures that could not lift the score
+ * to alpha even with a margin to spare are skipped (delta pruning), as are captures that lose
+ * material once the recaptures are counted by static exchange evaluation. In check every evasion
+ * is searched, as standing pat is no option there.
+ */
+public class AlphaBeta implements MoveStrategy {
+
+    public static final int MATE_SCORE = 1_000_000;
+    public static final int INFINITE_SCORE = MATE_SCORE + 1;
+    public static final int DRAW_SCORE = 0;
+
+    // The budget is checked once every this many nodes, reading the clock is not free.
+    private static final long LIMIT_CHECK_INTERVAL = 1024;
+    // What a capture may gain beyond the captured piece's value through position.
+    private static final int DELTA_MARGIN = 200;
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+
+    private final BoardEvaluator boardEvaluator;
+    private final TranspositionTable transpositionTable;
+    private final MoveOrderer moveOrderer = new MoveOrderer();
+    private final int depth;
+    private long nodes;
+    private long deadline = Long.MAX_VALUE;
+    private long maxNodes = Long.MAX_VALUE;
+    private boolean isStopped;
+    private int score;
+
+    public AlphaBeta(final int depth, final TranspositionTable transpositionTable) {
+        this.depth = Math.max(1, Math.min(depth, SearchBoard.MAX_PLY - 1));
+        this.boardEvaluator = new StandardBoardEvaluator();
+        this.transpositionTable = transpositionTable;
+    }
+
+    public AlphaBeta(final int depth) {
+        this(depth, null);
+    }
+
+    @Override
+    public String toString(){
+        return "AlphaBeta";
+    }
+
+    @Override
+    public Move execute(final Board board) {
+        final long startTime = System.currentTimeMillis();
+        newSearch();
+        final int bestMove = searchRoot(new SearchBoard(board), this.depth, EncodedMove.NULL_MOVE);
+
+        final long executionTime = System.currentTimeMillis() - startTime;
+        System.out.println(this + " depth " + this.depth + " score " + this.score + " nodes " + this.nodes +
+                " time " + executionTime);
+        return bestMove == EncodedMove.NULL_MOVE ? null : EncodedMove.toMove(board, bestMove);
+    }
+
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    // Score of the last move searchRoot returned.
+    public int getScore() {
+        return this.score;
+    }
+
+    /*
+     * Stops the search once System.nanoTime() passes the deadline or the node count passes
+     * maxNodes, Long.MAX_VALUE meaning no limit. A stopped search's results are meaningless and
+     * isStopped() says so.
+     */
+    void setLimits(final long deadline, final long maxNodes) {
+        this.deadline = deadline;
+        this.maxNodes = maxNodes;
+        this.isStopped = false;
+    }
+
+    // Removes the limits, starts a new node count and forgets the killer moves of the last search.
+    void newSearch() {
+        this.nodes = 0;
+        setLimits(Long.MAX_VALUE, Long.MAX_VALUE);
+        this.moveOrderer.newSearch();
+    }
+
+    boolean isStopped() {
+        return this.isStopped;
+    }
+
+    /*
+     * Searches every root move to depth and returns the best, or NULL_MOVE when there are no
+     * legal moves. The given first move, if legal, is searched before the others so an earlier
+     * iteration's best move sets the window.
+     */
+    int searchRoot(final SearchBoard board, final int depth, final int firstMove) {
+        int bestMove = EncodedMove.NULL_MOVE;
+        int alpha = -INFINITE_SCORE;
+        final int[] moves = board.getMoveBuffer();
+        final int numMoves = board.generateLegalMoves(moves);
+        if (numMoves == 0) {
+            this.score = board.isInCheck() ? -MATE_SCORE + board.getPly() : DRAW_SCORE;
+            return bestMove;
+        }
+        this.moveOrderer.scoreMoves(board, moves, numMoves, firstMove);
+        for (int i = 0; i < numMoves; i++) {
+            final int move = this.moveOrderer.nextMove(moves, numMoves, i, board.getPly());
+            board.makeMove(move);
+            final int score = -search(board, depth - 1, -INFINITE_SCORE, -alpha);
+            board.unmakeMove();
+            if (this.isStopped) {
+                break;
+            }
+            if (score > alpha) {
+                alpha = score;
+                bestMove = move;
+            }
+        }
+        if (this.transpositionTable != null && !this.isStopped && bestMove != EncodedMove.NULL_MOVE) {
+            this.transpositionTable.store(board.getZobristKey(), bestMove, scoreToTable(alpha, board.getPly()), depth,
+                    TranspositionEntry.EXACT_BOUND);
+        }
+        this.score = alpha;
+        return bestMove;
+    }
+
+    public int search(final SearchBoard board, final int depth, int alpha, final int beta) {
+        if (depth <= 0) {
+            return quiesce(board, alpha, beta);
+        }
+        if (isOutOfBudget()) {
+            return DRAW_SCORE;
+        }
+        final int ply = board.getPly();
+        final long key = board.getZobristKey();
+        int hashMove = EncodedMove.NULL_MOVE;
+        if (this.transpositionTable != null) {
+            final long entry = this.transpositionTable.probe(key);
+            if (entry != TranspositionEntry.NO_ENTRY) {
+                hashMove = TranspositionEntry.getMove(entry);
+                if (TranspositionEntry.getDepth(entry) >= depth) {
+                    final int score = scoreFromTable(TranspositionEntry.getScore(entry), ply);
+                    final int bound = TranspositionEntry.getBound(entry);
+                    if (bound == TranspositionEntry.EXACT_BOUND ||
+                            bound == TranspositionEntry.LOWER_BOUND && score >= beta ||
+                            bound == TranspositionEntry.UPPER_BOUND && score <= alpha) {
+                        return score;
+                    }
+                }
+            }
+        }
+
+        final int[] moves = board.getMoveBuffer();
+        final int numMoves = board.generateLegalMoves(moves);
+        if (numMoves == 0) {
+            return board.isInCheck() ? -MATE_SCORE + ply : DRAW_SCORE;
+        }
+        this.moveOrderer.scoreMoves(board, moves, numMoves, hashMove);
+
+        final int originalAlpha = alpha;
+        int bestScore = -INFINITE_SCORE;
+        int bestMove = EncodedMove.NULL_MOVE;
+        for (int i = 0; i < numMoves; i++) {
+            final int move = this.moveOrderer.nextMove(moves, numMoves, i, ply);
+            board.makeMove(move);
+            final int score = -search(board, depth - 1, -beta, -alpha);
+            board.unmakeMove();
+            if (score > bestScore) {
+                bestScore = score;
+                if (score > alpha) {
+                    alpha = score;
+                    bestMove = move;
+                    if (alpha >= beta) {
+                        if (MoveOrderer.isQuiet(move) && !this.isStopped) {
+                            this.moveOrderer.updateQuietCutoff(board, moves, i, depth);
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+
+        if (this.transpositionTable != null && !this.isStopped) {
+            final int bound = bestScore >= beta ? TranspositionEntry.LOWER_BOUND :
+                    bestScore > originalAlpha ? TranspositionEntry.EXACT_BOUND : TranspositionEntry.UPPER_BOUND;
+            this.transpositionTable.store(key, bestMove, scoreToTable(bestScore, ply), depth, bound);
+        }
+        return bestScore;
+    }
+
+    public int quiesce(final SearchBoard board, int alpha, final int beta) {
+        if (isOutOfBudget()) {
+            return DRAW_SCORE;
+        }
+        final int ply = board.getPly();
+        final boolean isInCheck = board.isInCheck();
+        final int[] moves = board.getMoveBuffer();
+        final int numMoves = isInCheck ? board.generateLegalMoves(moves) : board.generateLegalCaptures(moves);
+        if (isInCheck && numMoves == 0) {
+            return -MATE_SCORE + ply;
+        }
+
+        int bestScore = -INFINITE_SCORE;
+        int standPat = 0;
+        if (!isInCheck || ply >= SearchBoard.MAX_PLY - 1) {
+            standPat = evaluate(board);
+            if (standPat >= beta || ply >= SearchBoard.MAX_PLY - 1) {
+                return standPat;
+            }
+            bestScore = standPat;
+            alpha = Math.max(alpha, standPat);
+        }
+
+        this.moveOrderer.scoreMoves(board, moves, numMoves, EncodedMove.NULL_MOVE);
+        for (int i = 0; i < numMoves; i++) {
+            final int move = this.moveOrderer.nextMove(moves, numMoves, i, ply);
+            if (!isInCheck && (standPat + materialGain(move) + DELTA_MARGIN <= alpha ||
+                    !board.seeGreaterOrEqual(move, 0))) {
+                continue;
+            }
+            board.makeMove(move);
+            final int score = -quiesce(board, -beta, -alpha);
+            board.unmakeMove();
+            if (score > bestScore) {
+                bestScore = score;
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        return bestScore;
+    }
+
+    // Static evaluation from the side to move's point of view.
+    private int evaluate(final SearchBoard board) {
+        final int score = this.boardEvaluator.evaluate(board, 0);
+        return board.getSideToMove().isWhite() ? score : -score;
+    }
+
+    // Most material a capture or promotion can win right away.
+    private static int materialGain(final int move) {
+        int gain = 0;
+        if (EncodedMove.isCapture(move)) {
+            gain += PIECE_TYPES[EncodedMove.getCapturedPiece(move) % PIECE_TYPES.length].pieceValue();
+        }
+        if (EncodedMove.isPromotion(move)) {
+            gain += PIECE_TYPES[EncodedMove.getPromotionType(move)].pieceValue() - PieceType.PAWN.pieceValue();
+        }
+        return gain;
+    }
+
+    private boolean isOutOfBudget() {
+        if (++this.nodes % LIMIT_CHECK_INTERVAL == 0 &&
+                (this.nodes >= this.maxNodes ||
+                        this.deadline != Long.MAX_VALUE && System.nanoTime() - this.deadline >= 0)) {
+            this.isStopped = true;
+        }
+        return this.isStopped;
+    }
+
+    // Mate scores are stored as the distance from the node rather than from the root, so they
+    // stay true wherever else the position is reached.
+    private static int scoreToTable(final int score, final int ply) {
+        if (isMateScore(score)) {
+            return score > 0 ? score + ply : score - ply;
+        }
+        return score;
+    }
+
+    private static int scoreFromTable(final int score, final int ply) {
+        if (isMateScore(score)) {
+            return score > 0 ? score - ply : score + ply;
+        }
+        return score;
+    }
+
+    public static boolean isMateScore(final int score) {
+        return Math.abs(score) >= MATE_SCORE - SearchBoard.MAX_PLY;
+    }
+}
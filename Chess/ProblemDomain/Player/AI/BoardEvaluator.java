@@ -1,7 +1,9 @@
 package Chess.ProblemDomain.Player.AI;
 
 import Chess.ProblemDomain.Board.Board;
+import Chess.ProblemDomain.Board.SearchBoard;
 
 public interface BoardEvaluator {
     int evaluate(Board board, int depth);
+    int evaluate(SearchBoard board, int depth);
 }
@@ -0,0 +1,93 @@
+package Chess.ProblemDomain.Player.AI;
+
+import Chess.ProblemDomain.Board.Board;
+import Chess.ProblemDomain.Board.EncodedMove;
+import Chess.ProblemDomain.Board.Move;
+import Chess.ProblemDomain.Board.SearchBoard;
+
+/*
+ * Runs AlphaBeta at depth 1, 2, 3... until the maximum depth, the time budget or the node budget
+ * is reached. An iteration cut short by the budget is thrown away, so the move played is always
+ * the best move of the last iteration that finished. Depth 1 always finishes so there is a move
+ * to play. Each iteration searches the previous best move first, and with a TranspositionTable
+ * the results of shallower iterations order the moves of deeper ones.
+ */
+public class IterativeDeepening implements MoveStrategy {
+
+    public static final long NO_LIMIT = Long.MAX_VALUE;
+
+    private final int maxDepth;
+    private final long moveTimeMillis;
+    private final long maxNodes;
+    private final TranspositionTable transpositionTable;
+    private final AlphaBeta alphaBeta;
+    private int completedDepth;
+
+    public IterativeDeepening(final int maxDepth,
+                              final long moveTimeMillis,
+                              final long maxNodes,
+                              final TranspositionTable transpositionTable) {
+        this.maxDepth = Math.max(1, Math.min(maxDepth, SearchBoard.MAX_PLY - 1));
+        this.moveTimeMillis = moveTimeMillis;
+        this.maxNodes = maxNodes;
+        this.transpositionTable = transpositionTable;
+        this.alphaBeta = new AlphaBeta(this.maxDepth, transpositionTable);
+    }
+
+    public IterativeDeepening(final int maxDepth, final long moveTimeMillis, final long maxNodes) {
+        this(maxDepth, moveTimeMillis, maxNodes, null);
+    }
+
+    public IterativeDeepening(final int maxDepth, final long moveTimeMillis) {
+        this(maxDepth, moveTimeMillis, NO_LIMIT);
+    }
+
+    @Override
+    public String toString(){
+        return "IterativeDeepening";
+    }
+
+    @Override
+    public Move execute(final Board board) {
+        final long startTime = System.nanoTime();
+        final long deadline = this.moveTimeMillis == NO_LIMIT ?
+                NO_LIMIT : startTime + this.moveTimeMillis * 1_000_000;
+        final SearchBoard searchBoard = new SearchBoard(board);
+
+        int bestMove = EncodedMove.NULL_MOVE;
+        int bestScore = 0;
+        this.completedDepth = 0;
+        this.alphaBeta.newSearch();
+        if (this.transpositionTable != null) {
+            this.transpositionTable.newSearch();
+        }
+        for (int depth = 1; depth <= this.maxDepth; depth++) {
+            final int move = this.alphaBeta.searchRoot(searchBoard, depth, bestMove);
+            if (this.alphaBeta.isStopped()) {
+                break;
+            }
+            bestMove = move;
+            bestScore = this.alphaBeta.getScore();
+            this.completedDepth = depth;
+            System.out.println(this + " depth " + depth + " score " + bestScore + " nodes " +
+                    this.alphaBeta.getNodes() + " time " + (System.nanoTime() - startTime) / 1_000_000);
+            // No deeper search changes a forced mate or a position without moves.
+            if (bestMove == EncodedMove.NULL_MOVE || AlphaBeta.isMateScore(bestScore)) {
+                break;
+            }
+            if (depth == 1) {
+                this.alphaBeta.setLimits(deadline, this.maxNodes);
+            }
+        }
+        return bestMove == EncodedMove.NULL_MOVE ? null : EncodedMove.toMove(board, bestMove);
+    }
+
+    // Depth of the last iteration the previous execute finished.
+    public int getCompletedDepth() {
+        return this.completedDepth;
+    }
+
+    public long getNodes() {
+        return this.alphaBeta.getNodes();
+    }
+}
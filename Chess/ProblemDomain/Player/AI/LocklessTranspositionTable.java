@@ -0,0 +1,34 @@
+package Chess.ProblemDomain.Player.AI;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+ * Transposition table on the Java heap, its slots kept in an AtomicLongArray so they can be read
+ * and written without locks from several threads.
+ */
+public final class LocklessTranspositionTable extends AbstractTranspositionTable {
+
+    // An AtomicLongArray is indexed by int
+    private static final long MAX_BUCKETS = 1L << 28;
+
+    private final AtomicLongArray slots;
+
+    public LocklessTranspositionTable(final int megabytes) {
+        this(numBuckets(megabytes, MAX_BUCKETS));
+    }
+
+    private LocklessTranspositionTable(final long numBuckets) {
+        super(numBuckets);
+        this.slots = new AtomicLongArray((int) (numBuckets * LONGS_PER_BUCKET));
+    }
+
+    @Override
+    protected long getLong(final long index) {
+        return this.slots.getOpaque((int) index);
+    }
+
+    @Override
+    protected void setLong(final long index, final long value) {
+        this.slots.setOpaque((int) index, value);
+    }
+}
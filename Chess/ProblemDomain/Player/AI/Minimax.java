@@ -1,8 +1,9 @@
 package Chess.ProblemDomain.Player.AI;
 
 import Chess.ProblemDomain.Board.Board;
+import Chess.ProblemDomain.Board.EncodedMove;
 import Chess.ProblemDomain.Board.Move;
-import Chess.ProblemDomain.Player.MoveTransition;
+import Chess.ProblemDomain.Board.SearchBoard;
 
 public class Minimax implements MoveStrategy{
 
@@ -22,54 +23,54 @@ public class Minimax implements MoveStrategy{
     public Move execute(Board board) {
 
         final long startTime = System.currentTimeMillis();
-        Move bestMove = null;
+        final SearchBoard searchBoard = new SearchBoard(board);
+        final boolean isWhite = board.currentPlayer().getAlliance().isWhite();
+        int bestMove = EncodedMove.NULL_MOVE;
         int highestSeenValue = Integer.MIN_VALUE;
         int lowestSeenValue = Integer.MAX_VALUE;
         int currentValue = 0;
-        int numMoves = board.currentPlayer().getLegalMoves().size();
-        for(final Move move: board.currentPlayer().getLegalMoves()){
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus().isDone()){
-                System.out.println(board.currentPlayer().getAlliance().toString() + " " + move.toString());
-                currentValue = board.currentPlayer().getAlliance().isWhite() ?
-                        min(moveTransition.getBoard(), this.depth - 1, highestSeenValue) :
-                        max(moveTransition.getBoard(), this.depth - 1, lowestSeenValue);
-
-                if (board.currentPlayer().getAlliance().isWhite() && currentValue >= highestSeenValue){
-                    highestSeenValue = currentValue;
-                    bestMove = move;
-                } else if (board.currentPlayer().getAlliance().isBlack() && currentValue <= lowestSeenValue){
-                    lowestSeenValue = currentValue;
-                    bestMove = move;
-                }
+        final int[] moves = searchBoard.getMoveBuffer();
+        final int numMoves = searchBoard.generateLegalMoves(moves);
+        for(int i = 0; i < numMoves; i++){
+            System.out.println(board.currentPlayer().getAlliance().toString() + " " +
+                    EncodedMove.toMove(board, moves[i]).toString());
+            searchBoard.makeMove(moves[i]);
+            currentValue = isWhite ?
+                    min(searchBoard, this.depth - 1, highestSeenValue) :
+                    max(searchBoard, this.depth - 1, lowestSeenValue);
+            searchBoard.unmakeMove();
+
+            if (isWhite && currentValue >= highestSeenValue){
+                highestSeenValue = currentValue;
+                bestMove = moves[i];
+            } else if (!isWhite && currentValue <= lowestSeenValue){
+                lowestSeenValue = currentValue;
+                bestMove = moves[i];
             }
-
         }
 
         final long executionTime = System.currentTimeMillis() - startTime;
-        /*if (board.currentPlayer().getAlliance().isWhite()){
-            System.out.println(highestSeenValue);
-        } else{
-            System.out.println(lowestSeenValue);
-        }*/
         System.out.println(executionTime);
-        return bestMove;
+        return bestMove == EncodedMove.NULL_MOVE ? null : EncodedMove.toMove(board, bestMove);
     }
 
-    public int min(final Board board, final int depth, final int alpha){
-        if (depth == 0 || isEndGameScenario(board)){
-            int Value = this.boardEvaluator.evaluate(board, depth);
-            return Value;
+    public int min(final SearchBoard board, final int depth, final int alpha){
+        if (depth == 0){
+            return this.boardEvaluator.evaluate(board, depth);
         }
 
         int lowestSeenValue = Integer.MAX_VALUE;
-        for(final Move move: board.currentPlayer().getLegalMoves()){
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            if(moveTransition.getMoveStatus().isDone()){
-                final int currentValue = max(moveTransition.getBoard(), depth - 1, lowestSeenValue);
-                if (currentValue < lowestSeenValue){
-                    lowestSeenValue = currentValue;
-                }
+        final int[] moves = board.getMoveBuffer();
+        final int numMoves = board.generateLegalMoves(moves);
+        if (numMoves == 0){
+            return scoreNoMoves(board);
+        }
+        for(int i = 0; i < numMoves; i++){
+            board.makeMove(moves[i]);
+            final int currentValue = max(board, depth - 1, lowestSeenValue);
+            board.unmakeMove();
+            if (currentValue < lowestSeenValue){
+                lowestSeenValue = currentValue;
             }
 
             if(lowestSeenValue < alpha){
@@ -79,20 +80,23 @@ public class Minimax implements MoveStrategy{
         return lowestSeenValue;
     }
 
-    public int max(final Board board, final int depth, final int beta){
-        if (depth == 0 || isEndGameScenario(board)){
-            int Value = this.boardEvaluator.evaluate(board, depth);
-            return Value;
+    public int max(final SearchBoard board, final int depth, final int beta){
+        if (depth == 0){
+            return this.boardEvaluator.evaluate(board, depth);
         }
 
         int highestSeenValue = Integer.MIN_VALUE;
-        for(final Move move: board.currentPlayer().getLegalMoves()){
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            if(moveTransition.getMoveStatus().isDone()){
-                final int currentValue = min(moveTransition.getBoard(), depth - 1, highestSeenValue);
-                if (currentValue > highestSeenValue){
-                    highestSeenValue = currentValue;
-                }
+        final int[] moves = board.getMoveBuffer();
+        final int numMoves = board.generateLegalMoves(moves);
+        if (numMoves == 0){
+            return scoreNoMoves(board);
+        }
+        for(int i = 0; i < numMoves; i++){
+            board.makeMove(moves[i]);
+            final int currentValue = min(board, depth - 1, highestSeenValue);
+            board.unmakeMove();
+            if (currentValue > highestSeenValue){
+                highestSeenValue = currentValue;
             }
 
             if(highestSeenValue > beta){
@@ -102,8 +106,12 @@ public class Minimax implements MoveStrategy{
         return highestSeenValue;
     }
 
-    private boolean isEndGameScenario(Board board) {
-        return board.currentPlayer().isCheckmate() ||
-                board.currentPlayer().isStalemate();
+    // Mate or stalemate from white's point of view, a nearer mate scoring further from 0.
+    private static int scoreNoMoves(final SearchBoard board) {
+        if (!board.isInCheck()) {
+            return AlphaBeta.DRAW_SCORE;
+        }
+        final int mateScore = AlphaBeta.MATE_SCORE - board.getPly();
+        return board.getSideToMove().isWhite() ? -mateScore : mateScore;
     }
 }
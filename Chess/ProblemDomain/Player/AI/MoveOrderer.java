@@ -0,0 +1,150 @@
+package Chess.ProblemDomain.Player.AI;
+
+import Chess.ProblemDomain.Board.BitBoardUtils;
+import Chess.ProblemDomain.Board.BoardUtils;
+import Chess.ProblemDomain.Board.EncodedMove;
+import Chess.ProblemDomain.Board.SearchBoard;
+import Chess.ProblemDomain.Piece.Piece.PieceType;
+
+/*
+ * Orders a node's moves so the ones most likely to cause a cutoff are searched first: the hash
+ * move, then captures and promotions by most valuable victim and least valuable attacker, then
+ * the two killer moves of the ply, then the counter move to the opponent's last move, then the
+ * remaining quiet moves by history score. Captures that lose material by static exchange
+ * evaluation come last, as they rarely turn out best.
+ *
+ * Moves are scored once per node into a buffer for the ply and handed out best first by
+ * selection, so a node that cuts off early never pays for sorting the rest.
+ */
+public final class MoveOrderer {
+
+    private static final int HASH_MOVE_SCORE = 1 << 30;
+    private static final int CAPTURE_SCORE = 1 << 28;
+    private static final int KILLER_SCORE = 1 << 27;
+    private static final int COUNTER_MOVE_SCORE = KILLER_SCORE - 2;
+    private static final int LOSING_CAPTURE_SCORE = -CAPTURE_SCORE;
+    // History scores are halved whenever one passes this, so they stay below the counter move
+    private static final int MAX_HISTORY_SCORE = 1 << 20;
+    private static final int NUM_KILLERS = 2;
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+
+    private final int[][] scores = new int[SearchBoard.MAX_PLY + 1][SearchBoard.MAX_MOVES];
+    private final int[][] killers = new int[SearchBoard.MAX_PLY + 1][NUM_KILLERS];
+    private final int[][] history = new int[BitBoardUtils.NUM_PIECE_INDICES][BoardUtils.NUM_TILES];
+    private final int[][] counterMoves = new int[BitBoardUtils.NUM_PIECE_INDICES][BoardUtils.NUM_TILES];
+
+    public void scoreMoves(final SearchBoard board, final int[] moves, final int numMoves, final int hashMove) {
+        final int ply = board.getPly();
+        final int[] moveScores = this.scores[ply];
+        final int[] plyKillers = this.killers[ply];
+        final int lastMove = board.getLastMove();
+        final int counterMove = lastMove == EncodedMove.NULL_MOVE ? EncodedMove.NULL_MOVE :
+                this.counterMoves[EncodedMove.getMovedPiece(lastMove)][EncodedMove.getTo(lastMove)];
+        for (int i = 0; i < numMoves; i++) {
+            final int move = moves[i];
+            if (move == hashMove) {
+                moveScores[i] = HASH_MOVE_SCORE;
+            } else if (!isQuiet(move)) {
+                moveScores[i] = (board.seeGreaterOrEqual(move, 0) ? CAPTURE_SCORE : LOSING_CAPTURE_SCORE) + mvvLva(move);
+            } else if (move == plyKillers[0]) {
+                moveScores[i] = KILLER_SCORE;
+            } else if (move == plyKillers[1]) {
+                moveScores[i] = KILLER_SCORE - 1;
+            } else if (move == counterMove) {
+                moveScores[i] = COUNTER_MOVE_SCORE;
+            } else {
+                moveScores[i] = this.history[EncodedMove.getMovedPiece(move)][EncodedMove.getTo(move)];
+            }
+        }
+    }
+
+    /*
+     * Swaps the best scored of moves[index..numMoves) into moves[index] and returns it. The moves
+     * must have been scored by scoreMoves at this ply.
+     */
+    public int nextMove(final int[] moves, final int numMoves, final int index, final int ply) {
+        final int[] moveScores = this.scores[ply];
+        int best = index;
+        for (int i = index + 1; i < numMoves; i++) {
+            if (moveScores[i] > moveScores[best]) {
+                best = i;
+            }
+        }
+        final int move = moves[best];
+        if (best != index) {
+            moves[best] = moves[index];
+            moves[index] = move;
+            final int score = moveScores[best];
+            moveScores[best] = moveScores[index];
+            moveScores[index] = score;
+        }
+        return move;
+    }
+
+    /*
+     * Records a quiet move that caused a cutoff as a killer and counter move and raises its
+     * history score, lowering the scores of the quiet moves searched before it without success.
+     */
+    public void updateQuietCutoff(final SearchBoard board, final int[] moves, final int cutoffIndex, final int depth) {
+        final int move = moves[cutoffIndex];
+        final int[] plyKillers = this.killers[board.getPly()];
+        if (plyKillers[0] != move) {
+            plyKillers[1] = plyKillers[0];
+            plyKillers[0] = move;
+        }
+        final int lastMove = board.getLastMove();
+        if (lastMove != EncodedMove.NULL_MOVE) {
+            this.counterMoves[EncodedMove.getMovedPiece(lastMove)][EncodedMove.getTo(lastMove)] = move;
+        }
+        final int bonus = depth * depth;
+        for (int i = 0; i < cutoffIndex; i++) {
+            if (isQuiet(moves[i])) {
+                final int[] pieceHistory = this.history[EncodedMove.getMovedPiece(moves[i])];
+                final int to = EncodedMove.getTo(moves[i]);
+                pieceHistory[to] = Math.max(pieceHistory[to] - bonus, -MAX_HISTORY_SCORE);
+            }
+        }
+        final int[] pieceHistory = this.history[EncodedMove.getMovedPiece(move)];
+        pieceHistory[EncodedMove.getTo(move)] += bonus;
+        if (pieceHistory[EncodedMove.getTo(move)] > MAX_HISTORY_SCORE) {
+            ageHistory();
+        }
+    }
+
+    // Killers only hold within a search, history and counter moves carry over at a lower weight.
+    public void newSearch() {
+        for (final int[] plyKillers : this.killers) {
+            plyKillers[0] = EncodedMove.NULL_MOVE;
+            plyKillers[1] = EncodedMove.NULL_MOVE;
+        }
+        ageHistory();
+    }
+
+    public static boolean isQuiet(final int move) {
+        return !EncodedMove.isCapture(move) && !EncodedMove.isPromotion(move);
+    }
+
+    private static int mvvLva(final int move) {
+        int score = 0;
+        if (EncodedMove.isCapture(move)) {
+            score += pieceType(EncodedMove.getCapturedPiece(move)).pieceValue() * 16 -
+                    pieceType(EncodedMove.getMovedPiece(move)).pieceValue() / 100;
+        }
+        if (EncodedMove.isPromotion(move)) {
+            score += PIECE_TYPES[EncodedMove.getPromotionType(move)].pieceValue() * 16;
+        }
+        return score;
+    }
+
+    private static PieceType pieceType(final int pieceIndex) {
+        return PIECE_TYPES[pieceIndex % BitBoardUtils.NUM_PIECE_TYPES];
+    }
+
+    private void ageHistory() {
+        for (final int[] pieceHistory : this.history) {
+            for (int square = 0; square < pieceHistory.length; square++) {
+                pieceHistory[square] /= 2;
+            }
+        }
+    }
+}
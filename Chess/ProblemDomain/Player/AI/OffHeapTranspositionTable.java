@@ -0,0 +1,101 @@
+package Chess.ProblemDomain.Player.AI;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/*
+ * Transposition table kept outside the Java heap, so its size adds nothing to garbage collection
+ * work or heap settings. The memory is split into chunks of direct byte buffers, a buffer being
+ * limited to 2 GB, and read and written through a VarHandle view with opaque access.
+ * Direct buffers count against -XX:MaxDirectMemorySize, which defaults to the maximum heap size,
+ * so a table bigger than the heap needs that raised.
+ *
+ * Given a file the chunks are mapped from it instead. What the table learns then survives
+ * restarts, Zobrist keys being the same in every run, so repeated analysis of the same openings
+ * starts warm. Call flush() to write the table out, and close() once done with it.
+ */
+public final class OffHeapTranspositionTable extends AbstractTranspositionTable implements AutoCloseable {
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private static final int CHUNK_SHIFT = 30;
+    private static final long CHUNK_BYTES = 1L << CHUNK_SHIFT;
+    private static final int LONG_SHIFT = 3;
+    private static final long CHUNK_MASK = CHUNK_BYTES - 1;
+    private static final long MAX_BUCKETS = 1L << 40;
+
+    private final ByteBuffer[] chunks;
+    private final FileChannel channel;
+
+    public OffHeapTranspositionTable(final long megabytes) {
+        super(numBuckets(megabytes, MAX_BUCKETS));
+        this.channel = null;
+        this.chunks = new ByteBuffer[numChunks()];
+        for (int i = 0; i < this.chunks.length; i++) {
+            this.chunks[i] = ByteBuffer.allocateDirect(chunkBytes(i));
+        }
+    }
+
+    // A file written by a table of another size is still safe to open, its entries just miss.
+    public OffHeapTranspositionTable(final long megabytes, final Path file) throws IOException {
+        super(numBuckets(megabytes, MAX_BUCKETS));
+        this.channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.chunks = new ByteBuffer[numChunks()];
+        for (int i = 0; i < this.chunks.length; i++) {
+            this.chunks[i] = this.channel.map(FileChannel.MapMode.READ_WRITE, (long) i << CHUNK_SHIFT, chunkBytes(i));
+        }
+    }
+
+    private int numChunks() {
+        return (int) ((getNumBytes() + CHUNK_BYTES - 1) >>> CHUNK_SHIFT);
+    }
+
+    private int chunkBytes(final int chunk) {
+        return (int) Math.min(CHUNK_BYTES, getNumBytes() - ((long) chunk << CHUNK_SHIFT));
+    }
+
+    public long getNumBytes() {
+        return getNumBuckets() * BYTES_PER_BUCKET;
+    }
+
+    @Override
+    protected long getLong(final long index) {
+        final long offset = index << LONG_SHIFT;
+        return (long) LONGS.getOpaque(this.chunks[(int) (offset >>> CHUNK_SHIFT)], (int) (offset & CHUNK_MASK));
+    }
+
+    @Override
+    protected void setLong(final long index, final long value) {
+        final long offset = index << LONG_SHIFT;
+        LONGS.setOpaque(this.chunks[(int) (offset >>> CHUNK_SHIFT)], (int) (offset & CHUNK_MASK), value);
+    }
+
+    public boolean isPersistent() {
+        return this.channel != null;
+    }
+
+    // Writes a file backed table out to its file, a direct table has nothing to write.
+    public void flush() {
+        if (isPersistent()) {
+            for (final ByteBuffer chunk : this.chunks) {
+                ((MappedByteBuffer) chunk).force();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        if (isPersistent()) {
+            this.channel.close();
+        }
+    }
+}
@@ -1,26 +1,48 @@
 package Chess.ProblemDomain.Player.AI;
 
+import Chess.ProblemDomain.Alliance;
 import Chess.ProblemDomain.Board.Board;
+import Chess.ProblemDomain.Board.SearchBoard;
 import Chess.ProblemDomain.Piece.Piece;
 import Chess.ProblemDomain.Player.Player;
 
 final public class StandardBoardEvaluator implements BoardEvaluator {
 
     private static final int CHECK_BONUS = 50;
-    private static final int CHECKMATE_BONUS = 100000;
     private static final int CASTLE_BONUS = 60;
+    private static final Piece.PieceType[] PIECE_TYPES = Piece.PieceType.values();
 
     @Override
     public int evaluate(final Board board, final int depth) {
         return isStalemate(board.currentPlayer()) ? 0 :
-                scorePlayer(board.WhitePlayer(), depth) -
-                    scorePlayer(board.BLackPlayer(), depth);
+                scorePlayer(board.WhitePlayer()) -
+                    scorePlayer(board.BLackPlayer());
     }
 
-    private int scorePlayer(final Player player,
-                            final int depth){
-        return pieceValue(player) + mobility(player) + check(player) + checkmate(player, depth)
-                + castleBonus(player);
+    /*
+     * Called at every leaf and quiescence node, so it generates no moves. Mate and stalemate are
+     * left to the search, which finds them when it generates the node's moves anyway.
+     */
+    @Override
+    public int evaluate(final SearchBoard board, final int depth) {
+        return scorePlayer(board, Alliance.WHITE) - scorePlayer(board, Alliance.BLACK);
+    }
+
+    private int scorePlayer(final SearchBoard board, final Alliance alliance) {
+        return pieceValue(board, alliance) + board.countMobility(alliance) +
+                (board.isInCheck(alliance.opponent()) ? CHECK_BONUS : 0);
+    }
+
+    private int pieceValue(final SearchBoard board, final Alliance alliance) {
+        int pieceValueScore = 0;
+        for (final Piece.PieceType pieceType : PIECE_TYPES) {
+            pieceValueScore += pieceType.pieceValue() * Long.bitCount(board.getPieceBitBoard(alliance, pieceType));
+        }
+        return pieceValueScore;
+    }
+
+    private int scorePlayer(final Player player){
+        return pieceValue(player) + mobility(player) + check(player) + castleBonus(player);
     }
 
 
@@ -42,18 +64,10 @@ final public class StandardBoardEvaluator implements BoardEvaluator {
         return player.getOpponent().isCheck() ? CHECK_BONUS : 0;
     }
 
-    private int checkmate(Player player, int depth) {
-        return player.getOpponent().isCheckmate() ? CHECKMATE_BONUS * depthBonus(depth) : 0;
-    }
-
     private boolean isStalemate(Player player){
         return player.isStalemate();
     }
 
-    private int depthBonus(int depth) {
-        return (int) Math.pow(100, depth + 1);
-    }
-
     private int castleBonus(Player player) {
         return player.isCastle() ? CASTLE_BONUS : 0;
     }
@@ -0,0 +1,84 @@
+package Chess.ProblemDomain.Player.AI;
+
+import Chess.ProblemDomain.Board.EncodedMove;
+
+/*
+ * A transposition table entry packed into one long, so tables can store and verify it with plain
+ * 64 bit reads and writes.
+ *
+ *   bits 0-25   best move, in the EncodedMove format
+ *   bits 26-46  score, signed
+ *   bits 47-53  depth
+ *   bits 54-55  bound
+ *   bits 56-63  generation of the search that stored it
+ *
+ * The bound is never NO_BOUND in a stored entry, so an entry is never 0 and 0 can mean empty.
+ */
+public final class TranspositionEntry {
+
+    public static final long NO_ENTRY = 0L;
+
+    public static final int NO_BOUND = 0;
+    // The score is at most the true value, every move failed low
+    public static final int UPPER_BOUND = 1;
+    // The score is at least the true value, a move failed high
+    public static final int LOWER_BOUND = 2;
+    public static final int EXACT_BOUND = 3;
+
+    public static final int MAX_DEPTH = 127;
+
+    private static final int MOVE_BITS = 26;
+    private static final int SCORE_SHIFT = MOVE_BITS;
+    private static final int SCORE_BITS = 21;
+    private static final int DEPTH_SHIFT = SCORE_SHIFT + SCORE_BITS;
+    private static final int BOUND_SHIFT = DEPTH_SHIFT + 7;
+    private static final int GENERATION_SHIFT = BOUND_SHIFT + 2;
+
+    private static final long MOVE_MASK = (1L << MOVE_BITS) - 1;
+    private static final long SCORE_MASK = (1L << SCORE_BITS) - 1;
+
+    private TranspositionEntry(){
+        throw new RuntimeException("You cannot instantiate me");
+    }
+
+    public static long create(final int move, final int score, final int depth, final int bound, final int generation) {
+        return (move & MOVE_MASK) |
+                ((score & SCORE_MASK) << SCORE_SHIFT) |
+                ((long) Math.min(depth, MAX_DEPTH) << DEPTH_SHIFT) |
+                ((long) bound << BOUND_SHIFT) |
+                ((long) (generation & 0xFF) << GENERATION_SHIFT);
+    }
+
+    public static int getMove(final long entry) {
+        return (int) (entry & MOVE_MASK);
+    }
+
+    public static int getScore(final long entry) {
+        return (int) ((entry << (Long.SIZE - DEPTH_SHIFT)) >> (Long.SIZE - SCORE_BITS));
+    }
+
+    public static int getDepth(final long entry) {
+        return (int) (entry >>> DEPTH_SHIFT) & MAX_DEPTH;
+    }
+
+    public static int getBound(final long entry) {
+        return (int) (entry >>> BOUND_SHIFT) & 0x3;
+    }
+
+    public static int getGeneration(final long entry) {
+        return (int) (entry >>> GENERATION_SHIFT);
+    }
+
+    // Same entry with another best move, used to keep a known move when the new one has none.
+    public static long withMove(final long entry, final int move) {
+        return (entry & ~MOVE_MASK) | (move & MOVE_MASK);
+    }
+
+    public static String toString(final long entry) {
+        if (entry == NO_ENTRY) {
+            return "-";
+        }
+        return EncodedMove.toString(getMove(entry)) + " score " + getScore(entry) + " depth " + getDepth(entry) +
+                " bound " + getBound(entry) + " generation " + getGeneration(entry);
+    }
+}
@@ -0,0 +1,27 @@
+package Chess.ProblemDomain.Player.AI;
+
+/*
+ * Fixed size cache of search results keyed by Zobrist key. Entries are longs packed by
+ * TranspositionEntry, and implementations must be safe to share between search threads.
+ */
+public interface TranspositionTable {
+
+    // The stored entry for the key, or TranspositionEntry.NO_ENTRY.
+    long probe(long key);
+
+    void store(long key, int move, int score, int depth, int bound);
+
+    // Marks the entries stored so far as older, so a new search may replace them first.
+    void newSearch();
+
+    void clear();
+
+    long getProbes();
+
+    long getHits();
+
+    // Probes that found their bucket full of other positions.
+    long getCollisions();
+
+    long getStores();
+}
@@ -0,0 +1,51 @@
+package Chess.ProblemDomain.Player;
+
+public enum GameStatus {
+    IN_PROGRESS{
+        @Override
+        public boolean isCheck() {
+            return false;
+        }
+
+        @Override
+        public boolean isGameOver() {
+            return false;
+        }
+    },
+    CHECK{
+        @Override
+        public boolean isCheck() {
+            return true;
+        }
+
+        @Override
+        public boolean isGameOver() {
+            return false;
+        }
+    },
+    CHECKMATE{
+        @Override
+        public boolean isCheck() {
+            return true;
+        }
+
+        @Override
+        public boolean isGameOver() {
+            return true;
+        }
+    },
+    STALEMATE{
+        @Override
+        public boolean isCheck() {
+            return false;
+        }
+
+        @Override
+        public boolean isGameOver() {
+            return true;
+        }
+    };
+
+    public abstract boolean isCheck();
+    public abstract boolean isGameOver();
+}
@@ -1,75 +1,73 @@
 package Chess.ProblemDomain.Player;
 
 import Chess.ProblemDomain.Alliance;
+import Chess.ProblemDomain.Board.BitBoardUtils;
 import Chess.ProblemDomain.Board.Board;
 import Chess.ProblemDomain.Board.Move;
+import Chess.ProblemDomain.Board.MoveIndex;
 import Chess.ProblemDomain.Piece.King;
 import Chess.ProblemDomain.Piece.Piece;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 public abstract class Player {
     protected final Board board;
     protected final King playerKing;
-    protected final Collection<Move> legalMoves;
-    private final boolean isCheck;
+    private Collection<Move> legalMoves;
+    private MoveIndex legalMoveIndex;
+    private Boolean isCheck;
+    private GameStatus gameStatus;
 
-    protected Player(Board board, Collection<Move> legalMoves, Collection<Move> opponentMoves) {
+    protected Player(Board board) {
         this.board = board;
         this.playerKing = establishKing();
-        this.isCheck = !Player.calculateAttackOnTile(this.playerKing.getPiecePosition(), opponentMoves).isEmpty();
-
-        List<Move> totalLegalMoves = new ArrayList<Move>();
-        totalLegalMoves.addAll(legalMoves);
-        totalLegalMoves.addAll(KingCastles(legalMoves, opponentMoves));
-        this.legalMoves = totalLegalMoves;
-    }
-
-    static Collection<Move> calculateAttackOnTile(int piecePosition, Collection<Move> moves) {
-        final List<Move> attackMoves = new ArrayList<>();
-        for(final Move move: moves){
-            if(piecePosition == move.getDestCoordinate()){
-                attackMoves.add(move);
-            }
-        }
-        return attackMoves;
     }
 
     private King establishKing(){
-        for(final Piece piece : getActivePiece()){
-            if(piece.getPieceType().isKing()){
-                return (King) piece;
-            }
+        final long kingBitBoard = this.board.getPieceBitBoard(getAlliance(), Piece.PieceType.KING);
+        if(kingBitBoard == 0){
+            throw new RuntimeException("No King");
         }
-        throw new RuntimeException("No King");
+        return (King) this.board.getPiece(BitBoardUtils.firstSquare(kingBitBoard));
     }
 
     public boolean isMoveLegal(final Move move){
-        return this.legalMoves.contains(move);
+        return getLegalMoveIndex().contains(move);
     }
 
     public boolean isCheck(){
+        if(this.isCheck == null){
+            this.isCheck = this.board.isInCheck(getAlliance());
+        }
         return this.isCheck;
     }
 
     public boolean isCheckmate(){
-        return this.isCheck && !HasEscapeMoves();
+        return getGameStatus() == GameStatus.CHECKMATE;
     }
 
-    protected boolean HasEscapeMoves(){
-        for (final Move move: this.legalMoves){
-            final MoveTransition transition = makeMove(move);
-            if(transition.getMoveStatus().isDone()){
-                return true;
+    public boolean isStalemate(){
+        return getGameStatus() == GameStatus.STALEMATE;
+    }
+
+    // Worked out once per player from the check state and the number of legal moves.
+    public GameStatus getGameStatus(){
+        if(this.gameStatus == null){
+            if(HasEscapeMoves()){
+                this.gameStatus = isCheck() ? GameStatus.CHECK : GameStatus.IN_PROGRESS;
+            } else {
+                this.gameStatus = isCheck() ? GameStatus.CHECKMATE : GameStatus.STALEMATE;
             }
         }
-        return false;
+        return this.gameStatus;
     }
 
-    public boolean isStalemate(){
-        return !(this.isCheck) && !HasEscapeMoves();
+    protected boolean HasEscapeMoves(){
+        return this.legalMoves != null ? !this.legalMoves.isEmpty() :
+                this.board.countLegalMoves(getAlliance()) != 0;
     }
 
     public boolean isCastle(){
@@ -80,20 +78,36 @@ public abstract class Player {
         if(!isMoveLegal(move)){
             return new MoveTransition(this.board, move, MoveStatus.ILLEGAL_MOVE);
         }
-        final Board transitionBoard = move.execute();
-        transitionBoard.currentPlayer().getLegalMoves();
-
-        if(transitionBoard.currentPlayer().getOpponent().isCheck()){
-            return new MoveTransition(this.board, move, MoveStatus.LEAVES_PLAYER_IN_CHECK);
-        }
-        return new MoveTransition(transitionBoard, move, MoveStatus.DONE);
+        return new MoveTransition(move.execute(), move, MoveStatus.DONE);
     }
 
 
+    // Generated on first use, castles included.
     public Collection<Move> getLegalMoves(){
+        if(this.legalMoves == null){
+            this.legalMoves = this.board.calculateLegalMoves(getAlliance());
+        }
         return this.legalMoves;
     }
 
+    public MoveIndex getLegalMoveIndex(){
+        if(this.legalMoveIndex == null){
+            this.legalMoveIndex = new MoveIndex(getLegalMoves());
+        }
+        return this.legalMoveIndex;
+    }
+
+    // Castling is decided by the board's castling rights when the moves are generated.
+    public Collection<Move> KingCastles(){
+        final List<Move> kingCastles = new ArrayList<>();
+        for(final Move move: getLegalMoves()){
+            if(move.isCastling()){
+                kingCastles.add(move);
+            }
+        }
+        return Collections.unmodifiableList(kingCastles);
+    }
+
     public King getPlayerKing(){
         return this.playerKing;
     }
@@ -101,5 +115,4 @@ public abstract class Player {
     public abstract Collection<Piece> getActivePiece();
     public abstract Alliance getAlliance();
     public abstract Player getOpponent();
-    public abstract Collection<Move> KingCastles(Collection<Move> playerMoves, Collection<Move> opponentMoves);
 }